@@ -0,0 +1,164 @@
+package com.bloodmod;
+
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.LivingEntity;
+
+import java.util.Arrays;
+
+/**
+ * Caps how many blood particles of each kind are alive at once, so a big death burst cannot
+ * saturate the particle manager and push out other particles.
+ *
+ * Emitters ask {@link #admit} how many of a planned batch they may spawn. Lower priority
+ * emission only gets a share of each quota, so as the budget fills up, distant mobs are shed
+ * first and hits on the player are shed last. Particles are counted in when spawned and out when
+ * they die; admitted particles still waiting in the {@link EmissionQueue} are counted
+ * as reserved. Only touched from the client thread.
+ */
+public final class BloodBudget {
+
+    public enum Kind {
+        DRIP,
+        SPLASH,
+        STAIN,
+        FOG
+    }
+
+    public enum Priority {
+        /**
+         * Distant entities. Only get the first part of each quota.
+         */
+        LOW(0.6f),
+        NEAR(0.85f),
+        /**
+         * The local player, or whatever the camera is attached to.
+         */
+        PLAYER(1.0f);
+
+        private final float quotaShare;
+
+        Priority(float quotaShare) {
+            this.quotaShare = quotaShare;
+        }
+
+        public static Priority of(LivingEntity entity) {
+            Entity camera = MinecraftClient.getInstance().getCameraEntity();
+            if (camera == null || entity == camera) {
+                return PLAYER;
+            }
+
+            double near = BloodModConfig.runtime().fullDetailDistance;
+            return entity.squaredDistanceTo(camera) <= near * near ? NEAR : LOW;
+        }
+
+        /**
+         * Priority for an effect not tied to one entity, such as aggregated crowd deaths.
+         */
+        public static Priority at(double x, double y, double z) {
+            Entity camera = MinecraftClient.getInstance().getCameraEntity();
+            if (camera == null) {
+                return NEAR;
+            }
+
+            double near = BloodModConfig.runtime().fullDetailDistance;
+            return camera.squaredDistanceTo(x, y, z) <= near * near ? NEAR : LOW;
+        }
+    }
+
+    private static final Kind[] KINDS = Kind.values();
+
+    private static final int[] alive = new int[KINDS.length];
+    private static final int[] reserved = new int[KINDS.length];
+    private static final long[] shed = new long[KINDS.length];
+
+    private BloodBudget() {
+    }
+
+    /**
+     * How many of {@code requested} new particles may be spawned. The rest are counted as shed.
+     */
+    public static int admit(Kind kind, int requested, Priority priority) {
+        if (requested <= 0) {
+            return 0;
+        }
+
+        int limit = (int) (quota(kind, BloodModConfig.runtime()) * priority.quotaShare);
+        int allowed = Math.max(0, Math.min(requested, limit - alive[kind.ordinal()] - reserved[kind.ordinal()]));
+        shed[kind.ordinal()] += requested - allowed;
+        return allowed;
+    }
+
+    public static boolean admitOne(Kind kind, Priority priority) {
+        return admit(kind, 1, priority) == 1;
+    }
+
+    /**
+     * Count a new particle in. Called when {@link com.bloodmod.particle.BloodParticleEngine#spawn}
+     * adds a drip or splash and when {@link com.bloodmod.particle.StainDecals#add} adds a stain.
+     */
+    public static void acquire(Kind kind) {
+        alive[kind.ordinal()]++;
+    }
+
+    /**
+     * Count a particle out. Called once when it dies or is discarded.
+     */
+    public static void release(Kind kind) {
+        int index = kind.ordinal();
+        if (alive[index] > 0) {
+            alive[index]--;
+        }
+    }
+
+    /**
+     * Hold a slot for an admitted particle that has been queued instead of spawned.
+     */
+    public static void reserve(Kind kind) {
+        reserved[kind.ordinal()]++;
+    }
+
+    /**
+     * Give back a reserved slot once the queued particle is spawned or dropped.
+     */
+    public static void unreserve(Kind kind) {
+        int index = kind.ordinal();
+        if (reserved[index] > 0) {
+            reserved[index]--;
+        }
+    }
+
+    /**
+     * Move a live particle to another kind, e.g. a drip turning into fog underwater.
+     */
+    public static void transfer(Kind from, Kind to) {
+        release(from);
+        acquire(to);
+    }
+
+    public static int alive(Kind kind) {
+        return alive[kind.ordinal()];
+    }
+
+    public static long shed(Kind kind) {
+        return shed[kind.ordinal()];
+    }
+
+    /**
+     * Forget all live counts. The particle manager drops every particle on world change
+     * without marking them dead, so the counts would otherwise never come back down.
+     */
+    public static void reset() {
+        Arrays.fill(alive, 0);
+        Arrays.fill(reserved, 0);
+    }
+
+    public static int quota(Kind kind, BloodRuntimeSettings settings) {
+        return switch (kind) {
+            case DRIP -> settings.maxDripParticles;
+            case SPLASH -> settings.maxSplashParticles;
+            case STAIN -> settings.maxStainParticles;
+            case FOG -> settings.maxFogParticles;
+        };
+    }
+}
@@ -0,0 +1,41 @@
+package com.bloodmod;
+
+/**
+ * Blood color groups, matching the per-group colors in {@link BloodModConfig.BloodColorSettings}.
+ * Resolved once per entity type when its {@link BloodProfile} is built.
+ */
+public enum BloodCategory {
+    DEFAULT,
+    PLAYER,
+    ZOMBIE,
+    SKELETON,
+    END,
+    SPIDER,
+    SLIME,
+    AQUATIC,
+    NETHER,
+    BLAZE,
+    BEE,
+    CREEPER,
+    GOLEM;
+
+    public static BloodCategory of(String entityType) {
+        return switch (entityType) {
+            case "player" -> PLAYER;
+            case "zombie", "zombie_villager", "husk", "drowned",
+                 "zombie_horse", "zombified_piglin", "zoglin" -> ZOMBIE;
+            case "skeleton", "stray", "wither_skeleton", "skeleton_horse" -> SKELETON;
+            case "enderman", "endermite", "shulker", "ender_dragon" -> END;
+            case "spider", "cave_spider" -> SPIDER;
+            case "slime" -> SLIME;
+            case "squid", "glow_squid", "guardian", "elder_guardian" -> AQUATIC;
+            case "hoglin", "piglin", "piglin_brute", "strider",
+                 "magma_cube", "ghast", "happy_ghast" -> NETHER;
+            case "blaze" -> BLAZE;
+            case "bee" -> BEE;
+            case "creeper" -> CREEPER;
+            case "iron_golem", "snow_golem", "copper_golem" -> GOLEM;
+            default -> DEFAULT;
+        };
+    }
+}
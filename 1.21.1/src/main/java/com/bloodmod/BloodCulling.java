@@ -0,0 +1,102 @@
+package com.bloodmod;
+
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.util.math.random.Random;
+
+/**
+ * Decides how much blood an entity should emit based on where the camera is.
+ *
+ * Entities outside the view cone or beyond {@link BloodRuntimeSettings#maxEmissionDistance} emit
+ * nothing. Between the full detail distance and the max distance, counts fade linearly down to
+ * {@link BloodRuntimeSettings#farDetailMultiplier}. Checked before any particles are planned, so
+ * culled blood is never simulated.
+ */
+public final class BloodCulling {
+
+    /**
+     * Slack added to the view cone, in radians, so blood right at the screen edge is not cut off
+     * and a quick turn does not reveal an empty burst.
+     */
+    private static final double VIEW_MARGIN = Math.toRadians(10);
+
+    private BloodCulling() {
+    }
+
+    /**
+     * Fraction of the normal particle count to emit for this entity: 1 for full detail, 0 to skip.
+     */
+    public static float emissionScale(LivingEntity entity) {
+        return emissionScale(entity.getX(), entity.getY() + entity.getHeight() * 0.5, entity.getZ(),
+                Math.max(entity.getWidth(), entity.getHeight()) * 0.5 + 1.0);
+    }
+
+    /**
+     * Same as {@link #emissionScale(LivingEntity)} for an effect centred at a point, reaching out to {@code radius}.
+     */
+    public static float emissionScale(double x, double y, double z, double radius) {
+        BloodRuntimeSettings settings = BloodModConfig.runtime();
+        if (!settings.cullingEnabled) {
+            return 1.0f;
+        }
+
+        MinecraftClient client = MinecraftClient.getInstance();
+        Entity camera = client.getCameraEntity();
+        if (camera == null) {
+            return 1.0f;
+        }
+
+        Vec3d eye = camera.getEyePos();
+        double dx = x - eye.x;
+        double dy = y - eye.y;
+        double dz = z - eye.z;
+        double distance = Math.sqrt(dx * dx + dy * dy + dz * dz);
+
+        if (distance > settings.maxEmissionDistance) {
+            return 0.0f;
+        }
+
+        if (distance > radius && client.options.getPerspective().isFirstPerson()
+                && !isInViewCone(client, camera, dx, dy, dz, distance, radius)) {
+            return 0.0f;
+        }
+
+        if (distance <= settings.fullDetailDistance) {
+            return 1.0f;
+        }
+
+        float t = (float) ((distance - settings.fullDetailDistance)
+                / Math.max(settings.maxEmissionDistance - settings.fullDetailDistance, 1.0f));
+        return 1.0f + (settings.farDetailMultiplier - 1.0f) * t;
+    }
+
+    /**
+     * Scale a particle count, rounding up or down at random so the expected count stays exact.
+     */
+    public static int scaleCount(int count, float scale, Random random) {
+        if (scale >= 1.0f) {
+            return count;
+        }
+
+        float scaled = count * scale;
+        int whole = (int) scaled;
+        return random.nextFloat() < scaled - whole ? whole + 1 : whole;
+    }
+
+    private static boolean isInViewCone(MinecraftClient client, Entity camera,
+                                        double dx, double dy, double dz, double distance, double radius) {
+        // Cone around the look direction wide enough to contain the screen corners
+        double halfFovY = Math.toRadians(client.options.getFov().getValue()) * 0.5;
+        double aspect = (double) client.getWindow().getFramebufferWidth()
+                / Math.max(client.getWindow().getFramebufferHeight(), 1);
+        double halfFov = Math.atan(Math.tan(halfFovY) * Math.sqrt(1.0 + aspect * aspect));
+
+        Vec3d look = camera.getRotationVec(1.0f);
+        double cos = (dx * look.x + dy * look.y + dz * look.z) / distance;
+        double angle = Math.acos(Math.max(-1.0, Math.min(1.0, cos)));
+
+        return angle <= halfFov + Math.asin(Math.min(radius / distance, 1.0)) + VIEW_MARGIN;
+    }
+}
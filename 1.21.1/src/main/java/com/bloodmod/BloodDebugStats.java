@@ -0,0 +1,71 @@
+package com.bloodmod;
+
+import com.bloodmod.particle.BloodParticleEngine;
+import com.bloodmod.particle.StainDecals;
+import com.bloodmod.particle.SupportIndex;
+import com.bloodmod.particle.WaterSectionIndex;
+
+/**
+ * Periodic debug log of the client-side tracking state, to confirm it stays bounded in long sessions.
+ * Enable debug logging for the bloodmod logger to see it.
+ */
+public final class BloodDebugStats {
+
+    private static final int REPORT_INTERVAL_TICKS = 20 * 60;
+
+    private static int ticksSinceReport;
+    private static long releasedEntries;
+    private static long trackerResets;
+    private static long trackedDataProcessed;
+
+    private BloodDebugStats() {
+    }
+
+    public static void entryReleased() {
+        releasedEntries++;
+    }
+
+    public static void trackerReset() {
+        trackerResets++;
+    }
+
+    /**
+     * A health update on a client-side living entity.
+     */
+    public static void trackedDataProcessed() {
+        trackedDataProcessed++;
+    }
+
+    public static void tick() {
+        if (++ticksSinceReport < REPORT_INTERVAL_TICKS) return;
+        ticksSinceReport = 0;
+
+        if (!BloodMod.LOGGER.isDebugEnabled()) return;
+
+        BloodMod.LOGGER.debug("Blood tracking: {} damage entries, {} low-health entities, {} active bursts, {} entries released, {} resets",
+                BloodModClient.getDamageTracker().size(), BloodModClient.getLowHealthIndex().size(),
+                BloodModClient.getActiveBurstCount(),
+                releasedEntries, trackerResets);
+        BloodMod.LOGGER.debug("Tracked-data updates: {} health processed", trackedDataProcessed);
+
+        BloodMod.LOGGER.debug("Bursts: {} merged hits, {} dropped",
+                BloodModClient.getBurstQueue().merged(), BloodModClient.getBurstQueue().dropped());
+        BloodMod.LOGGER.debug("Crowd mode: {} active cells, {} deaths absorbed",
+                CrowdAggregator.activeCells(), CrowdAggregator.absorbedDeaths());
+        BloodMod.LOGGER.debug("Emission queue: {} waiting, {} deferred, {} expired",
+                EmissionQueue.size(), EmissionQueue.deferred(), EmissionQueue.expired());
+        BloodMod.LOGGER.debug("Particle engine: {} live of {} allocated, {} refused",
+                BloodParticleEngine.size(), BloodParticleEngine.capacity(), BloodParticleEngine.refused());
+        BloodMod.LOGGER.debug("Water bitmaps: {} sections, {} built, {} lookups",
+                WaterSectionIndex.size(), WaterSectionIndex.builds(), WaterSectionIndex.lookups());
+        BloodMod.LOGGER.debug("Resting support: {} columns watched", SupportIndex.size());
+        BloodMod.LOGGER.debug("Stain decals: {} in {} sections", StainDecals.size(), StainDecals.sectionCount());
+        BloodMod.LOGGER.debug("Blood quality {} (frame {} ms, tick {} ms)",
+                QualityGovernor.scale(), QualityGovernor.frameTimeMs(), QualityGovernor.tickTimeMs());
+
+        for (BloodBudget.Kind kind : BloodBudget.Kind.values()) {
+            BloodMod.LOGGER.debug("Blood budget {}: {}/{} alive, {} shed", kind,
+                    BloodBudget.alive(kind), BloodBudget.quota(kind, BloodModConfig.runtime()), BloodBudget.shed(kind));
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.bloodmod;
 import com.bloodmod.BloodColor.Color;
 import net.minecraft.util.Identifier;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -28,8 +29,18 @@ public class BloodModAPI {
      * Registry of custom blood settings for modded entities.
      * Key: entity identifier (e.g., "mymod:custom_mob")
      * Value: blood settings
+     *
+     * The map is never mutated once published: writers copy it, apply their change and swap
+     * the reference, so readers on the client thread never see a partially updated registry.
+     */
+    private static volatile Map<String, BloodSettings> customBloodRegistry = Map.of();
+
+    /**
+     * Bumped on every change to the registry. See {@link #getVersion()}.
      */
-    private static final Map<String, BloodSettings> customBloodRegistry = new HashMap<>();
+    private static volatile long version = 0;
+
+    private static final Object LOCK = new Object();
 
     /**
      * Register custom blood settings for an entity.
@@ -39,9 +50,7 @@ public class BloodModAPI {
      * @param settings The blood settings to apply
      */
     public static void registerEntityBlood(Identifier entityId, BloodSettings settings) {
-        String key = entityId.toString(); // Converts to "mymod:custom_mob"
-        customBloodRegistry.put(key, settings);
-        BloodMod.LOGGER.info("Registered custom blood settings for entity: {}", key);
+        registerEntityBlood(entityId.toString(), settings); // Converts to "mymod:custom_mob"
     }
 
     /**
@@ -51,10 +60,34 @@ public class BloodModAPI {
      * @param settings The blood settings to apply
      */
     public static void registerEntityBlood(String entityId, BloodSettings settings) {
-        customBloodRegistry.put(entityId, settings);
+        synchronized (LOCK) {
+            Map<String, BloodSettings> updated = new HashMap<>(customBloodRegistry);
+            updated.put(entityId, settings);
+            publish(updated);
+        }
         BloodMod.LOGGER.info("Registered custom blood settings for entity: {}", entityId);
     }
 
+    /**
+     * Register custom blood settings for many entities at once.
+     * The registry is copied and published a single time, which is much cheaper than
+     * calling {@link #registerEntityBlood(String, BloodSettings)} in a loop.
+     *
+     * @param settingsById Entity identifiers as strings (e.g., "mymod:custom_mob") mapped to their settings
+     */
+    public static void registerAll(Map<String, BloodSettings> settingsById) {
+        if (settingsById.isEmpty()) {
+            return;
+        }
+
+        synchronized (LOCK) {
+            Map<String, BloodSettings> updated = new HashMap<>(customBloodRegistry);
+            updated.putAll(settingsById);
+            publish(updated);
+        }
+        BloodMod.LOGGER.info("Registered custom blood settings for {} entities", settingsById.size());
+    }
+
     /**
      * Get custom blood settings for an entity.
      *
@@ -75,13 +108,29 @@ public class BloodModAPI {
         return customBloodRegistry.containsKey(entityId);
     }
 
+    /**
+     * Version stamp of the registry. It increases every time a registration is added,
+     * replaced or removed, so anything derived from the registry can be cached and
+     * thrown away when the stamp it was built from no longer matches.
+     */
+    public static long getVersion() {
+        return version;
+    }
+
     /**
      * Remove custom blood settings for an entity.
      *
      * @param entityId The entity identifier
      */
     public static void unregisterEntityBlood(String entityId) {
-        customBloodRegistry.remove(entityId);
+        synchronized (LOCK) {
+            if (!customBloodRegistry.containsKey(entityId)) {
+                return;
+            }
+            Map<String, BloodSettings> updated = new HashMap<>(customBloodRegistry);
+            updated.remove(entityId);
+            publish(updated);
+        }
         BloodMod.LOGGER.info("Unregistered custom blood settings for entity: {}", entityId);
     }
 
@@ -90,10 +139,17 @@ public class BloodModAPI {
      * Useful for testing or mod reload scenarios.
      */
     public static void clearAllRegistrations() {
-        customBloodRegistry.clear();
+        synchronized (LOCK) {
+            publish(new HashMap<>());
+        }
         BloodMod.LOGGER.info("Cleared all custom blood registrations");
     }
 
+    private static void publish(Map<String, BloodSettings> updated) {
+        customBloodRegistry = Collections.unmodifiableMap(updated);
+        version++;
+    }
+
     /**
      * Blood settings for an entity.
      * Use the builder pattern to configure settings.
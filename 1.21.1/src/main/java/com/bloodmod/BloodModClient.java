@@ -1,20 +1,29 @@
 package com.bloodmod;
 
 import com.bloodmod.particle.BloodParticle;
+import com.bloodmod.particle.BloodParticleEngine;
+import com.bloodmod.particle.StainDecals;
+import com.bloodmod.particle.SupportIndex;
+import com.bloodmod.particle.WaterSectionIndex;
 import net.fabricmc.api.ClientModInitializer;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientChunkEvents;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientEntityEvents;
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientWorldEvents;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
 import net.fabricmc.fabric.api.client.particle.v1.ParticleFactoryRegistry;
+import net.fabricmc.fabric.api.resource.ResourceManagerHelper;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.player.PlayerEntity;
-
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
+import net.minecraft.resource.ResourceType;
 
 public class BloodModClient implements ClientModInitializer {
 
-    private static final List<ClientBloodBurstTask> activeBursts = new ArrayList<>();
+    private static final BurstQueue activeBursts = new BurstQueue(256);
+    private static final EntityDamageTracker damageTracker = new EntityDamageTracker();
+    private static final LowHealthIndex lowHealthIndex = new LowHealthIndex();
     private static BloodModConfig config;
+    private static BloodClock clock = BloodClock.WORLD_TIME;
 
     @Override
     public void onInitializeClient() {
@@ -24,6 +33,9 @@ public class BloodModClient implements ClientModInitializer {
 
         BloodMod.LOGGER.info("Config loaded - Mod enabled: {}", config.globalEnabled());
 
+        ResourceManagerHelper.get(ResourceType.CLIENT_RESOURCES)
+                .registerReloadListener(new BloodProfileReloadListener());
+
         ParticleFactoryRegistry.getInstance().register(
                 BloodParticles.BLOOD_DRIP,
                 BloodParticle.Factory::new
@@ -39,31 +51,66 @@ public class BloodModClient implements ClientModInitializer {
                 com.bloodmod.particle.BloodStainParticle.Factory::new
         );
 
+        ClientEntityEvents.ENTITY_UNLOAD.register((entity, world) -> {
+            if (!(entity instanceof LivingEntity)) return;
+
+            if (damageTracker.remove(entity.getId())) {
+                BloodDebugStats.entryReleased();
+            }
+            lowHealthIndex.remove(entity.getId());
+        });
+
+        ClientChunkEvents.CHUNK_LOAD.register((world, chunk) -> chunkChanged(chunk.getPos().x, chunk.getPos().z));
+        ClientChunkEvents.CHUNK_UNLOAD.register((world, chunk) -> chunkChanged(chunk.getPos().x, chunk.getPos().z));
+
+        ClientWorldEvents.AFTER_CLIENT_WORLD_CHANGE.register((client, world) -> resetTracking());
+
+        ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> client.execute(BloodModClient::resetTracking));
+
+        ClientTickEvents.START_CLIENT_TICK.register(client -> QualityGovernor.startTick());
+
         ClientTickEvents.END_CLIENT_TICK.register(client -> {
             if (client.world == null) return;
 
+            QualityGovernor.endTick(client);
+            BloodDebugStats.tick();
+
             if (client.isPaused()) return;
 
-            Iterator<ClientBloodBurstTask> it = activeBursts.iterator();
-            while (it.hasNext()) {
-                if (!it.next().tick()) {
-                    it.remove();
-                }
-            }
+            BloodParticleEngine.tick();
+            StainDecals.tick();
+            EmissionQueue.tick();
+            activeBursts.tick(client.world);
+            CrowdAggregator.tick(client.world);
 
             if (config.globalEnabled() && config.lowHealthEnabled()) {
-                for (net.minecraft.entity.Entity e : client.world.getEntities()) {
-                    if (!(e instanceof LivingEntity entity)) continue;
+                float threshold = config.lowHealthThreshold();
+                float frequency = config.dripFrequencyMultiplier();
+                if (!lowHealthIndex.isBuiltFor(threshold, frequency)) {
+                    lowHealthIndex.rebuild(client.world, threshold, frequency);
+                }
+
+                int due = lowHealthIndex.advance();
+                for (int i = 0; i < due; i++) {
+                    LivingEntity entity = lowHealthIndex.due(i);
+                    if (entity.isRemoved()) {
+                        lowHealthIndex.remove(entity.getId());
+                        continue;
+                    }
+                    lowHealthIndex.update(entity, entity.getHealth());
 
                     if (entity instanceof PlayerEntity player) {
                         if (!config.playerBleed()) continue;
                         if (player.isCreative() || player.isSpectator()) continue;
                     }
 
-                    if (BloodMod.shouldEntityDripAtLowHealth(entity)) {
-                        ClientBloodParticleSpawner.spawnBloodForLowHealth(client.world, entity, config);
+                    if (BloodProfile.of(entity).drips) {
+                        ClientBloodParticleSpawner.spawnLowHealthDrip(client.world, entity, config);
                     }
                 }
+            } else if (lowHealthIndex.isBuilt()) {
+                // Nothing drains the wheel while drips are off; drop it and rebuild when they come back
+                lowHealthIndex.clear();
             }
         });
 
@@ -74,7 +121,69 @@ public class BloodModClient implements ClientModInitializer {
         return config;
     }
 
+    public static void addBurst(LivingEntity entity, float damage) {
+        activeBursts.add(entity, damage);
+    }
+
+    /**
+     * @deprecated use {@link #addBurst(LivingEntity, float)}
+     */
+    @Deprecated
     public static void addBurstTask(ClientBloodBurstTask task) {
-        activeBursts.add(task);
+        if (task.requestedEntity != null) {
+            activeBursts.add(task.requestedEntity, task.requestedDamage);
+        }
+    }
+
+    public static BloodClock getClock() {
+        return clock;
+    }
+
+    /**
+     * Replace the tick source, e.g. to replay recorded damage streams deterministically.
+     */
+    public static void setClock(BloodClock clock) {
+        BloodModClient.clock = clock;
+    }
+
+    public static EntityDamageTracker getDamageTracker() {
+        return damageTracker;
+    }
+
+    public static LowHealthIndex getLowHealthIndex() {
+        return lowHealthIndex;
+    }
+
+    public static BurstQueue getBurstQueue() {
+        return activeBursts;
+    }
+
+    public static int getActiveBurstCount() {
+        return activeBursts.size();
+    }
+
+    /**
+     * Forget cached block data for a chunk that was loaded again or unloaded.
+     */
+    private static void chunkChanged(int chunkX, int chunkZ) {
+        WaterSectionIndex.onChunkChanged(chunkX, chunkZ);
+        SupportIndex.onChunkChanged(chunkX, chunkZ);
+    }
+
+    /**
+     * Drop all per-entity state. Entity ids are only meaningful within one world, and get reused.
+     */
+    private static void resetTracking() {
+        damageTracker.clear();
+        lowHealthIndex.clear();
+        activeBursts.clear();
+        BloodBudget.reset();
+        EmissionQueue.clear();
+        BloodParticleEngine.clear();
+        StainDecals.clear();
+        WaterSectionIndex.clear();
+        SupportIndex.clear();
+        CrowdAggregator.clear();
+        BloodDebugStats.trackerReset();
     }
 }
\ No newline at end of file
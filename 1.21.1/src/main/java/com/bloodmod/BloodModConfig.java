@@ -7,6 +7,8 @@ import me.shedaniel.autoconfig.annotation.Config;
 import me.shedaniel.autoconfig.annotation.ConfigEntry;
 
 import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Map;
@@ -21,6 +23,8 @@ public class BloodModConfig implements ConfigData {
     private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
     private static final Path CONFIG_PATH = getConfigPath();
 
+    private static volatile BloodRuntimeSettings runtime = BloodRuntimeSettings.of(new BloodModConfig());
+
     public GeneralSettings general = new GeneralSettings();
     public ParticleSettings particles = new ParticleSettings();
     public BloodStainSettings bloodStains = new BloodStainSettings();
@@ -29,6 +33,7 @@ public class BloodModConfig implements ConfigData {
     public LowHealthSettings lowHealth = new LowHealthSettings();
     public AudioSettings audio = new AudioSettings();
     public UnderwaterSettings underwater = new UnderwaterSettings();
+    public PerformanceSettings performance = new PerformanceSettings();
     public BloodColorSettings bloodColors = new BloodColorSettings();
     public EntityOverrides entities = new EntityOverrides();
     public ModdedEntities moddedEntities = new ModdedEntities();
@@ -44,6 +49,8 @@ public class BloodModConfig implements ConfigData {
     }
 
     public static void save(BloodModConfig config) {
+        compile(config);
+
         if (CONFIG_PATH == null) {
             BloodMod.LOGGER.error("Config path is null, cannot save");
             return;
@@ -59,6 +66,26 @@ public class BloodModConfig implements ConfigData {
     }
 
     public static BloodModConfig load() {
+        BloodModConfig config = read();
+        compile(config);
+        return config;
+    }
+
+    private static void compile(BloodModConfig config) {
+        config.entities.compile();
+        config.bloodColors.compile();
+        BloodProfile.invalidateAll();
+        runtime = BloodRuntimeSettings.of(config);
+    }
+
+    /**
+     * The snapshot published by the last load or save.
+     */
+    public static BloodRuntimeSettings runtime() {
+        return runtime;
+    }
+
+    private static BloodModConfig read() {
         if (CONFIG_PATH == null || !Files.exists(CONFIG_PATH)) {
             BloodMod.LOGGER.info("Config file not found, using defaults");
             return new BloodModConfig();
@@ -67,6 +94,10 @@ public class BloodModConfig implements ConfigData {
         try {
             String json = Files.readString(CONFIG_PATH);
             BloodModConfig config = GSON.fromJson(json, BloodModConfig.class);
+            if (config == null) {
+                BloodMod.LOGGER.info("Config file is empty, using defaults");
+                return new BloodModConfig();
+            }
             BloodMod.LOGGER.info("Config loaded from {}", CONFIG_PATH);
             return config;
         } catch (Exception e) {
@@ -93,7 +124,16 @@ public class BloodModConfig implements ConfigData {
     public float burstIntensityMultiplier() { return hitBurst.getBurstIntensityMultiplier(); }
     public float burstDurationMultiplier() { return hitBurst.getBurstDurationMultiplier(); }
     public float burstSpreadMultiplier() { return hitBurst.getBurstSpreadMultiplier(); }
-    public long damageCooldownMs() { return hitBurst.getDamageCooldownMs(); }
+    public int damageCooldownTicks() { return hitBurst.damageCooldownTicks; }
+
+    /**
+     * @deprecated the cooldown is counted in ticks; use {@link #damageCooldownTicks()}
+     */
+    @Deprecated
+    public long damageCooldownMs() { return damageCooldownTicks() * 50L; }
+    public boolean burstMergeEnabled() { return hitBurst.mergeRepeatedHits; }
+    public float burstMergeDamageCap() { return hitBurst.mergeDamageCap; }
+    public boolean burstMergeExtendsDuration() { return hitBurst.mergeExtendsDuration; }
 
     public float deathIntensityMultiplier() { return deathBurst.getDeathIntensityMultiplier(); }
     public float deathSpreadMultiplier() { return deathBurst.getDeathSpreadMultiplier(); }
@@ -113,6 +153,24 @@ public class BloodModConfig implements ConfigData {
 
     public boolean bloodStainsEnabled() { return bloodStains.enabled; }
 
+    public boolean cullingEnabled() { return performance.cullingEnabled; }
+    public int fullDetailDistance() { return performance.fullDetailDistance; }
+    public int maxEmissionDistance() { return performance.maxEmissionDistance; }
+    public float farDetailMultiplier() { return performance.getFarDetailMultiplier(); }
+    public int maxDripParticles() { return performance.maxDripParticles; }
+    public int maxSplashParticles() { return performance.maxSplashParticles; }
+    public int maxStainParticles() { return performance.maxStainParticles; }
+    public int maxFogParticles() { return performance.maxFogParticles; }
+    public boolean adaptiveQualityEnabled() { return performance.adaptiveQuality; }
+    public boolean crowdModeEnabled() { return performance.crowdMode; }
+    public int crowdDeathThreshold() { return performance.crowdDeathThreshold; }
+    public int crowdParticleCap() { return performance.crowdParticleCap; }
+    public int maxSpawnsPerTick() { return performance.maxSpawnsPerTick; }
+    public int maxEmissionDelayTicks() { return performance.maxEmissionDelayTicks; }
+    public int targetFps() { return performance.targetFps; }
+    public float qualityFloor() { return performance.getQualityFloorMultiplier(); }
+    public float qualityCeiling() { return performance.getQualityCeilingMultiplier(); }
+
     public boolean doesEntityBleed(String entityType) {
         return entities.doesEntityBleed(entityType);
     }
@@ -170,7 +228,10 @@ public class BloodModConfig implements ConfigData {
         public int burstIntensity = 100;
         public int burstDuration = 100;
         public int burstSpread = 100;
-        public int damageCooldown = 100;
+        public int damageCooldownTicks = 2;
+        public boolean mergeRepeatedHits = true;
+        public int mergeDamageCap = 40;
+        public boolean mergeExtendsDuration = true;
 
         public float getBurstIntensityMultiplier() {
             return burstIntensity / 100.0f;
@@ -183,10 +244,6 @@ public class BloodModConfig implements ConfigData {
         public float getBurstSpreadMultiplier() {
             return burstSpread / 100.0f;
         }
-
-        public long getDamageCooldownMs() {
-            return damageCooldown;
-        }
     }
 
     public static class DeathBurstSettings {
@@ -254,6 +311,38 @@ public class BloodModConfig implements ConfigData {
         }
     }
 
+    public static class PerformanceSettings {
+        public boolean cullingEnabled = true;
+        public int fullDetailDistance = 16;
+        public int maxEmissionDistance = 64;
+        public int farDetail = 25;
+        public int maxDripParticles = 8000;
+        public int maxSplashParticles = 6000;
+        public int maxStainParticles = 600;
+        public int maxFogParticles = 1600;
+        public boolean adaptiveQuality = true;
+        public int targetFps = 60;
+        public int qualityFloor = 25;
+        public int qualityCeiling = 100;
+        public boolean crowdMode = true;
+        public int crowdDeathThreshold = 6;
+        public int crowdParticleCap = 60;
+        public int maxSpawnsPerTick = 300;
+        public int maxEmissionDelayTicks = 10;
+
+        public float getFarDetailMultiplier() {
+            return farDetail / 100.0f;
+        }
+
+        public float getQualityFloorMultiplier() {
+            return qualityFloor / 100.0f;
+        }
+
+        public float getQualityCeilingMultiplier() {
+            return Math.max(qualityCeiling, qualityFloor) / 100.0f;
+        }
+    }
+
     public static class EntityOverrides {
 
         private static final Set<String> NO_BLOOD = new HashSet<>(Arrays.asList(
@@ -267,35 +356,76 @@ public class BloodModConfig implements ConfigData {
                 "creaking", "parched"
         ));
 
+        /**
+         * Override fields keyed by entity path ("zombie_villager" -> zombieVillager).
+         * Reflected once when the class loads.
+         */
+        private static final Map<String, Field> OVERRIDE_FIELDS = collectOverrideFields();
+
+        /**
+         * Current override values keyed by entity path, rebuilt by {@link #compile()}.
+         */
+        private transient Map<String, Boolean> compiled;
+
+        /**
+         * Snapshot the override fields into the lookup table. Call after the fields change.
+         */
+        public void compile() {
+            Map<String, Boolean> table = new HashMap<>(OVERRIDE_FIELDS.size() * 2);
+            for (Map.Entry<String, Field> entry : OVERRIDE_FIELDS.entrySet()) {
+                try {
+                    table.put(entry.getKey(), entry.getValue().getBoolean(this));
+                } catch (IllegalAccessException e) {
+                    BloodMod.LOGGER.warn("Could not read entity override {}", entry.getValue().getName());
+                }
+            }
+            compiled = table;
+        }
+
         public boolean doesEntityBleed(String entityType) {
             if (NO_BLOOD.contains(entityType)) {
                 return false;
             }
 
-            try {
-                java.lang.reflect.Field field = getClass().getDeclaredField(
-                        convertEntityTypeToFieldName(entityType));
-                return field.getBoolean(this);
-            } catch (Exception e) {
-
-                return true;
+            Map<String, Boolean> table = compiled;
+            if (table == null) {
+                compile();
+                table = compiled;
             }
+
+            Boolean enabled = table.get(entityType);
+            return enabled == null || enabled;
         }
 
         public boolean shouldEntityDripAtLowHealth(String entityType) {
             return !NO_LOW_HEALTH_DRIP.contains(entityType) && doesEntityBleed(entityType);
         }
 
-        private String convertEntityTypeToFieldName(String entityType) {
-            String[] parts = entityType.split("_");
-            StringBuilder fieldName = new StringBuilder(parts[0]);
-            for (int i = 1; i < parts.length; i++) {
-                fieldName.append(Character.toUpperCase(parts[i].charAt(0)));
-                if (parts[i].length() > 1) {
-                    fieldName.append(parts[i].substring(1));
+        private static Map<String, Field> collectOverrideFields() {
+            Map<String, Field> fields = new HashMap<>();
+            for (Field field : EntityOverrides.class.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (field.getType() != boolean.class
+                        || !Modifier.isPublic(modifiers)
+                        || Modifier.isStatic(modifiers)) {
+                    continue;
+                }
+                fields.put(convertFieldNameToEntityType(field.getName()), field);
+            }
+            return fields;
+        }
+
+        private static String convertFieldNameToEntityType(String fieldName) {
+            StringBuilder entityType = new StringBuilder(fieldName.length() + 4);
+            for (int i = 0; i < fieldName.length(); i++) {
+                char c = fieldName.charAt(i);
+                if (Character.isUpperCase(c)) {
+                    entityType.append('_').append(Character.toLowerCase(c));
+                } else {
+                    entityType.append(c);
                 }
             }
-            return fieldName.toString();
+            return entityType.toString();
         }
 
         public boolean zombie              = true;
@@ -430,6 +560,51 @@ public class BloodModConfig implements ConfigData {
         public int creeperBloodBrightness = 100;
         public int golemBloodBrightness = 100;
 
+        /**
+         * Custom colors with brightness applied, packed as 0xRRGGBB and indexed by
+         * {@link BloodCategory#ordinal()}. Rebuilt by {@link #compile()}.
+         */
+        private transient int[] categoryColors;
+
+        public void compile() {
+            int[] colors = new int[BloodCategory.values().length];
+            colors[BloodCategory.DEFAULT.ordinal()] = applyBrightness(defaultBlood, defaultBloodBrightness);
+            colors[BloodCategory.PLAYER.ordinal()] = playerBlood;
+            colors[BloodCategory.ZOMBIE.ordinal()] = applyBrightness(zombieBlood, zombieBloodBrightness);
+            colors[BloodCategory.SKELETON.ordinal()] = applyBrightness(skeletonBlood, skeletonBloodBrightness);
+            colors[BloodCategory.END.ordinal()] = applyBrightness(endBlood, endBloodBrightness);
+            colors[BloodCategory.SPIDER.ordinal()] = applyBrightness(spiderBlood, spiderBloodBrightness);
+            colors[BloodCategory.SLIME.ordinal()] = applyBrightness(slimeBlood, slimeBloodBrightness);
+            colors[BloodCategory.AQUATIC.ordinal()] = applyBrightness(aquaticBlood, aquaticBloodBrightness);
+            colors[BloodCategory.NETHER.ordinal()] = applyBrightness(netherBlood, netherBloodBrightness);
+            colors[BloodCategory.BLAZE.ordinal()] = applyBrightness(blazeBlood, blazeBloodBrightness);
+            colors[BloodCategory.BEE.ordinal()] = applyBrightness(beeBlood, beeBloodBrightness);
+            colors[BloodCategory.CREEPER.ordinal()] = applyBrightness(creeperBlood, creeperBloodBrightness);
+            colors[BloodCategory.GOLEM.ordinal()] = applyBrightness(golemBlood, golemBloodBrightness);
+            categoryColors = colors;
+        }
+
+        /**
+         * Custom color for a category as 0xRRGGBB. For {@link BloodCategory#PLAYER} this is the
+         * local player's color; see {@link #otherPlayersBlood} for everyone else.
+         */
+        public int getCategoryColor(BloodCategory category) {
+            int[] colors = categoryColors;
+            if (colors == null) {
+                compile();
+                colors = categoryColors;
+            }
+            return colors[category.ordinal()];
+        }
+
+        private static int applyBrightness(int rgb, int brightness) {
+            float brightnessMult = brightness / 100.0f;
+            int r = Math.min(255, Math.round(((rgb >> 16) & 0xFF) * brightnessMult));
+            int g = Math.min(255, Math.round(((rgb >> 8) & 0xFF) * brightnessMult));
+            int b = Math.min(255, Math.round((rgb & 0xFF) * brightnessMult));
+            return (r << 16) | (g << 8) | b;
+        }
+
         public BloodColor.Color intToColor(int rgb, int brightness) {
             float r = ((rgb >> 16) & 0xFF) / 255.0f;
             float g = ((rgb >> 8) & 0xFF) / 255.0f;
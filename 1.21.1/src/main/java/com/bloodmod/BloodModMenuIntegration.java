@@ -99,9 +99,21 @@ public class BloodModMenuIntegration implements ModMenuApi {
                 .setDefaultValue(100).setTooltip(Text.literal("How far particles spread"))
                 .setSaveConsumer(val -> config.hitBurst.burstSpread = val).build());
 
-        hitBurst.addEntry(entry.startIntSlider(Text.literal("Damage Cooldown (ms)"), config.hitBurst.damageCooldown, 0, 500)
-                .setDefaultValue(100).setTooltip(Text.literal("Minimum time between bursts"))
-                .setSaveConsumer(val -> config.hitBurst.damageCooldown = val).build());
+        hitBurst.addEntry(entry.startIntSlider(Text.literal("Damage Cooldown (ticks)"), config.hitBurst.damageCooldownTicks, 0, 10)
+                .setDefaultValue(2).setTooltip(Text.literal("Minimum game ticks between bursts (20 ticks = 1 second)"))
+                .setSaveConsumer(val -> config.hitBurst.damageCooldownTicks = val).build());
+
+        hitBurst.addEntry(entry.startBooleanToggle(Text.literal("Merge Repeated Hits"), config.hitBurst.mergeRepeatedHits)
+                .setDefaultValue(true).setTooltip(Text.literal("Fold hits on an entity that is already bleeding into its current burst"))
+                .setSaveConsumer(val -> config.hitBurst.mergeRepeatedHits = val).build());
+
+        hitBurst.addEntry(entry.startIntSlider(Text.literal("Merged Damage Cap"), config.hitBurst.mergeDamageCap, 5, 100)
+                .setDefaultValue(40).setTooltip(Text.literal("Most damage one merged burst can add up to"))
+                .setSaveConsumer(val -> config.hitBurst.mergeDamageCap = val).build());
+
+        hitBurst.addEntry(entry.startBooleanToggle(Text.literal("Merging Extends Duration"), config.hitBurst.mergeExtendsDuration)
+                .setDefaultValue(true).setTooltip(Text.literal("A merged hit keeps the burst going for longer"))
+                .setSaveConsumer(val -> config.hitBurst.mergeExtendsDuration = val).build());
 
         ConfigCategory deathBurst = builder.getOrCreateCategory(Text.literal("Death Burst"));
 
@@ -159,6 +171,76 @@ public class BloodModMenuIntegration implements ModMenuApi {
                 .setDefaultValue(100).setTooltip(Text.literal("Transparency of fog clouds"))
                 .setSaveConsumer(val -> config.underwater.fogOpacity = val).build());
 
+        ConfigCategory performance = builder.getOrCreateCategory(Text.literal("Performance"));
+
+        performance.addEntry(entry.startBooleanToggle(Text.literal("Distance & View Culling"), config.performance.cullingEnabled)
+                .setDefaultValue(true).setTooltip(Text.literal("Skip blood outside the camera's view and thin it out with distance"))
+                .setSaveConsumer(val -> config.performance.cullingEnabled = val).build());
+
+        performance.addEntry(entry.startIntSlider(Text.literal("Full Detail Distance (blocks)"), config.performance.fullDetailDistance, 4, 64)
+                .setDefaultValue(16).setTooltip(Text.literal("Blood closer than this spawns every particle"))
+                .setSaveConsumer(val -> config.performance.fullDetailDistance = val).build());
+
+        performance.addEntry(entry.startIntSlider(Text.literal("Max Blood Distance (blocks)"), config.performance.maxEmissionDistance, 8, 128)
+                .setDefaultValue(64).setTooltip(Text.literal("No blood is spawned beyond this distance"))
+                .setSaveConsumer(val -> config.performance.maxEmissionDistance = val).build());
+
+        performance.addEntry(entry.startIntSlider(Text.literal("Far Detail (%)"), config.performance.farDetail, 0, 100)
+                .setDefaultValue(25).setTooltip(Text.literal("Particle count at the max distance, fading in from full detail"))
+                .setSaveConsumer(val -> config.performance.farDetail = val).build());
+
+        performance.addEntry(entry.startIntSlider(Text.literal("Max Drip Particles"), config.performance.maxDripParticles, 100, 32000)
+                .setDefaultValue(8000).setTooltip(Text.literal("Most blood drips alive at once; distant mobs are cut first"))
+                .setSaveConsumer(val -> config.performance.maxDripParticles = val).build());
+
+        performance.addEntry(entry.startIntSlider(Text.literal("Max Splash Particles"), config.performance.maxSplashParticles, 100, 32000)
+                .setDefaultValue(6000).setTooltip(Text.literal("Most blood splashes alive at once"))
+                .setSaveConsumer(val -> config.performance.maxSplashParticles = val).build());
+
+        performance.addEntry(entry.startIntSlider(Text.literal("Max Blood Stains"), config.performance.maxStainParticles, 50, 4000)
+                .setDefaultValue(600).setTooltip(Text.literal("Most blood stains on the ground at once"))
+                .setSaveConsumer(val -> config.performance.maxStainParticles = val).build());
+
+        performance.addEntry(entry.startIntSlider(Text.literal("Max Fog Clouds"), config.performance.maxFogParticles, 50, 8000)
+                .setDefaultValue(1600).setTooltip(Text.literal("Most underwater blood clouds at once"))
+                .setSaveConsumer(val -> config.performance.maxFogParticles = val).build());
+
+        performance.addEntry(entry.startBooleanToggle(Text.literal("Adaptive Quality"), config.performance.adaptiveQuality)
+                .setDefaultValue(true).setTooltip(Text.literal("Automatically lower blood intensity when frame rate drops"))
+                .setSaveConsumer(val -> config.performance.adaptiveQuality = val).build());
+
+        performance.addEntry(entry.startIntSlider(Text.literal("Target FPS"), config.performance.targetFps, 20, 240)
+                .setDefaultValue(60).setTooltip(Text.literal("Frame rate adaptive quality tries to hold, or your frame cap if lower"))
+                .setSaveConsumer(val -> config.performance.targetFps = val).build());
+
+        performance.addEntry(entry.startIntSlider(Text.literal("Minimum Quality (%)"), config.performance.qualityFloor, 5, 100)
+                .setDefaultValue(25).setTooltip(Text.literal("Lowest intensity adaptive quality may go down to"))
+                .setSaveConsumer(val -> config.performance.qualityFloor = val).build());
+
+        performance.addEntry(entry.startIntSlider(Text.literal("Maximum Quality (%)"), config.performance.qualityCeiling, 5, 100)
+                .setDefaultValue(100).setTooltip(Text.literal("Highest intensity adaptive quality may go up to"))
+                .setSaveConsumer(val -> config.performance.qualityCeiling = val).build());
+
+        performance.addEntry(entry.startBooleanToggle(Text.literal("Crowd Mode"), config.performance.crowdMode)
+                .setDefaultValue(true).setTooltip(Text.literal("Merge deaths packed into one spot, like mob farms, into a single effect"))
+                .setSaveConsumer(val -> config.performance.crowdMode = val).build());
+
+        performance.addEntry(entry.startIntSlider(Text.literal("Crowd Death Threshold"), config.performance.crowdDeathThreshold, 2, 30)
+                .setDefaultValue(6).setTooltip(Text.literal("Deaths within a few blocks in 2 seconds before crowd mode takes over"))
+                .setSaveConsumer(val -> config.performance.crowdDeathThreshold = val).build());
+
+        performance.addEntry(entry.startIntSlider(Text.literal("Crowd Particle Cap"), config.performance.crowdParticleCap, 10, 300)
+                .setDefaultValue(60).setTooltip(Text.literal("Most particles in one merged crowd effect"))
+                .setSaveConsumer(val -> config.performance.crowdParticleCap = val).build());
+
+        performance.addEntry(entry.startIntSlider(Text.literal("Max Spawns Per Tick"), config.performance.maxSpawnsPerTick, 20, 1000)
+                .setDefaultValue(300).setTooltip(Text.literal("Particles spawned per tick at most; the rest are spread over the next ticks"))
+                .setSaveConsumer(val -> config.performance.maxSpawnsPerTick = val).build());
+
+        performance.addEntry(entry.startIntSlider(Text.literal("Max Spawn Delay (ticks)"), config.performance.maxEmissionDelayTicks, 1, 40)
+                .setDefaultValue(10).setTooltip(Text.literal("Queued particles older than this are dropped instead of spawned late"))
+                .setSaveConsumer(val -> config.performance.maxEmissionDelayTicks = val).build());
+
         ConfigCategory bloodColors = builder.getOrCreateCategory(Text.literal("Blood Colors"));
 
         bloodColors.addEntry(entry.startBooleanToggle(Text.literal("Enable Custom Colors"), config.bloodColors.enableCustomColors)
@@ -0,0 +1,179 @@
+package com.bloodmod;
+
+import net.minecraft.entity.EntityType;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.registry.Registries;
+import net.minecraft.util.Identifier;
+
+import java.util.Arrays;
+
+/**
+ * Resolved blood behavior for one entity type.
+ *
+ * Profiles are resolved once per {@link EntityType} from the API registry, the modded entity
+ * config, resource pack profiles and the vanilla entity overrides, then cached in a table indexed by raw registry id.
+ * The table is dropped whenever the config is saved, and whenever the API registry version moves.
+ */
+public final class BloodProfile {
+
+    /**
+     * {@link #overrideColor} value when no override is set. Packed colors are always opaque, so never 0.
+     */
+    public static final int NO_COLOR = 0;
+
+    private static volatile BloodProfile[] table = new BloodProfile[0];
+
+    /**
+     * {@link BloodModAPI#getVersion()} the current table was built against.
+     */
+    private static volatile long apiVersion = -1;
+
+    public final boolean bleeds;
+    public final boolean drips;
+    public final boolean stains;
+    public final boolean meltsInWater;
+    public final BloodCategory category;
+
+    /**
+     * Default palette color for this entity type, as 0xAARRGGBB.
+     */
+    public final int baseColor;
+
+    /**
+     * Color set through the API, the modded entity config or a resource pack as 0xAARRGGBB,
+     * or {@link #NO_COLOR} to use the category and base colors.
+     */
+    public final int overrideColor;
+
+    /**
+     * Base color comes from the creeper texture or the copper golem's age rather than {@link #baseColor}.
+     */
+    public final boolean samplesCreeperTexture;
+    public final boolean agesLikeCopper;
+
+    private BloodProfile(boolean bleeds, boolean drips, boolean stains, boolean meltsInWater,
+                         BloodCategory category, int baseColor, int overrideColor,
+                         boolean samplesCreeperTexture, boolean agesLikeCopper) {
+        this.bleeds = bleeds;
+        this.drips = drips;
+        this.stains = stains;
+        this.meltsInWater = meltsInWater;
+        this.category = category;
+        this.baseColor = baseColor;
+        this.overrideColor = overrideColor;
+        this.samplesCreeperTexture = samplesCreeperTexture;
+        this.agesLikeCopper = agesLikeCopper;
+    }
+
+    /**
+     * Whether particles of this entity turn into stains on the ground and fog clouds in water.
+     */
+    public boolean transformsToStains() {
+        return stains && drips;
+    }
+
+    public static BloodProfile of(LivingEntity entity) {
+        return of(entity.getType());
+    }
+
+    public static BloodProfile of(EntityType<?> type) {
+        long registryVersion = BloodModAPI.getVersion();
+        if (registryVersion != apiVersion) {
+            apiVersion = registryVersion;
+            table = new BloodProfile[0];
+        }
+
+        BloodProfile[] profiles = table;
+        int rawId = Registries.ENTITY_TYPE.getRawId(type);
+        if (rawId >= 0 && rawId < profiles.length) {
+            BloodProfile profile = profiles[rawId];
+            if (profile != null) {
+                return profile;
+            }
+        }
+
+        BloodProfile profile = resolve(Registries.ENTITY_TYPE.getId(type));
+        if (rawId < 0 || table != profiles) {
+            return profile;
+        }
+
+        if (rawId >= profiles.length) {
+            profiles = Arrays.copyOf(profiles, Math.max(rawId + 1, Registries.ENTITY_TYPE.size()));
+            table = profiles;
+        }
+        profiles[rawId] = profile;
+        return profile;
+    }
+
+    /**
+     * Drop every cached profile. They are resolved again on next use.
+     */
+    public static void invalidateAll() {
+        table = new BloodProfile[0];
+    }
+
+    private static BloodProfile resolve(Identifier id) {
+        String fullEntityId = id.toString();
+        String entityType = id.getPath();
+
+        BloodModAPI.BloodSettings apiSettings = BloodModAPI.getEntityBloodSettings(fullEntityId);
+        BloodModConfig cfg = BloodModClient.getConfig();
+        BloodModConfig.ModdedEntities.ModdedEntitySettings moddedSettings =
+                cfg != null ? cfg.moddedEntities.getSettings(fullEntityId) : null;
+        BloodProfileResources.Entry packSettings = BloodProfileResources.get(fullEntityId);
+
+        boolean bleeds;
+        if (apiSettings != null && apiSettings.getCanBleed() != null) {
+            bleeds = apiSettings.getCanBleed();
+        } else if (moddedSettings != null) {
+            bleeds = moddedSettings.enabled;
+        } else if (packSettings != null && packSettings.bleeds != null) {
+            bleeds = packSettings.bleeds;
+        } else {
+            bleeds = cfg == null || cfg.doesEntityBleed(entityType);
+        }
+
+        boolean drips;
+        if (apiSettings != null && apiSettings.getCanDripAtLowHealth() != null) {
+            drips = apiSettings.getCanDripAtLowHealth();
+        } else if (moddedSettings != null) {
+            drips = moddedSettings.canDripAtLowHealth;
+        } else if (packSettings != null && packSettings.drips != null) {
+            drips = packSettings.drips;
+        } else {
+            drips = cfg == null || cfg.shouldEntityDripAtLowHealth(entityType);
+        }
+
+        boolean stains;
+        if (apiSettings != null && apiSettings.getTransformToStains() != null) {
+            stains = apiSettings.getTransformToStains();
+        } else if (moddedSettings != null) {
+            stains = moddedSettings.transformToStains;
+        } else if (packSettings != null && packSettings.stains != null) {
+            stains = packSettings.stains;
+        } else {
+            stains = true;
+        }
+
+        boolean meltsInWater = packSettings != null && packSettings.meltsInWater != null
+                ? packSettings.meltsInWater
+                : entityType.equals("snow_golem");
+
+        BloodCategory category = packSettings != null && packSettings.category != null
+                ? packSettings.category
+                : BloodCategory.of(entityType);
+
+        int overrideColor = NO_COLOR;
+        if (apiSettings != null && apiSettings.getColorRGB() != null) {
+            overrideColor = BloodColor.opaque(apiSettings.getColorRGB());
+        } else if (moddedSettings != null && moddedSettings.enabled) {
+            overrideColor = BloodColor.opaque(moddedSettings.bloodColor);
+        } else if (packSettings != null && packSettings.colorRGB != null) {
+            overrideColor = BloodColor.opaque(packSettings.colorRGB);
+        }
+
+        return new BloodProfile(bleeds, drips, stains, meltsInWater, category,
+                BloodColor.getBaseColorForEntity(entityType), overrideColor,
+                entityType.equals("creeper"), entityType.equals("copper_golem"));
+    }
+}
@@ -0,0 +1,32 @@
+package com.bloodmod;
+
+import net.fabricmc.fabric.api.resource.SimpleResourceReloadListener;
+import net.minecraft.resource.ResourceManager;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.profiler.Profiler;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Parses {@link BloodProfileResources} files on the reload worker and publishes them on the client thread.
+ */
+public class BloodProfileReloadListener implements SimpleResourceReloadListener<BloodProfileResources.Parsed> {
+
+    private static final Identifier ID = Identifier.of(BloodMod.MOD_ID, "profiles");
+
+    @Override
+    public Identifier getFabricId() {
+        return ID;
+    }
+
+    @Override
+    public CompletableFuture<BloodProfileResources.Parsed> load(ResourceManager manager, Profiler profiler, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> BloodProfileResources.parse(manager), executor);
+    }
+
+    @Override
+    public CompletableFuture<Void> apply(BloodProfileResources.Parsed data, ResourceManager manager, Profiler profiler, Executor executor) {
+        return CompletableFuture.runAsync(() -> BloodProfileResources.apply(data), executor);
+    }
+}
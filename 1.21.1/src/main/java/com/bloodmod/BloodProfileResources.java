@@ -0,0 +1,227 @@
+package com.bloodmod;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import net.minecraft.registry.Registries;
+import net.minecraft.resource.Resource;
+import net.minecraft.resource.ResourceManager;
+import net.minecraft.util.Identifier;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Blood profiles shipped in resource packs under {@code assets/<namespace>/bloodmod/profiles/*.json}.
+ *
+ * Each file maps entity ids to the same switches the API and the modded entity config expose:
+ * <pre>
+ * {
+ *   "entities": {
+ *     "mymod:custom_mob": {
+ *       "bleeds": true,
+ *       "drips": false,
+ *       "stains": true,
+ *       "melts_in_water": false,
+ *       "color": "#3A8C2F",
+ *       "category": "zombie"
+ *     }
+ *   }
+ * }
+ * </pre>
+ * Every field is optional. Packs layer field by field: every copy of every profile file is read,
+ * lowest pack first and files in id order within a pack, and a field set by a later file overrides
+ * the same field from an earlier one while leaving the others alone. So a higher pack can change
+ * just the colour of a mob a lower pack defines. Pack entries sit below the API and the modded
+ * entity config, and above
+ * the vanilla entity overrides and built-in defaults. Files are parsed off-thread during resource
+ * reload, then applied on the client thread, which re-indexes the {@link BloodProfile} table.
+ */
+public final class BloodProfileResources {
+
+    public static final String DIRECTORY = "bloodmod/profiles";
+
+    private static volatile Map<String, Entry> entries = Map.of();
+
+    private BloodProfileResources() {
+    }
+
+    /**
+     * Pack settings for an entity, or null if no pack covers it.
+     */
+    public static Entry get(String entityId) {
+        return entries.get(entityId);
+    }
+
+    /**
+     * Result of parsing all profile files during a reload.
+     */
+    public static final class Parsed {
+        public final Map<String, Entry> entries;
+        public final int fileCount;
+        public final long parseNanos;
+
+        private Parsed(Map<String, Entry> entries, int fileCount, long parseNanos) {
+            this.entries = entries;
+            this.fileCount = fileCount;
+            this.parseNanos = parseNanos;
+        }
+    }
+
+    /**
+     * Read and parse every profile file. Safe to call off the client thread.
+     */
+    public static Parsed parse(ResourceManager manager) {
+        long start = System.nanoTime();
+
+        Map<String, Integer> packOrder = new HashMap<>();
+        manager.streamResourcePacks().forEach(pack -> packOrder.putIfAbsent(pack.getId(), packOrder.size()));
+
+        List<Layer> layers = new ArrayList<>();
+        for (Map.Entry<Identifier, List<Resource>> file
+                : manager.findAllResources(DIRECTORY, id -> id.getPath().endsWith(".json")).entrySet()) {
+            for (Resource resource : file.getValue()) {
+                layers.add(new Layer(packOrder.getOrDefault(resource.getPackId(), -1), file.getKey(), resource));
+            }
+        }
+        layers.sort(Comparator.<Layer>comparingInt(layer -> layer.packIndex).thenComparing(layer -> layer.id));
+
+        Map<String, Entry> parsed = new HashMap<>();
+        for (Layer layer : layers) {
+            try (Reader reader = layer.resource.getReader()) {
+                JsonObject root = JsonParser.parseReader(reader).getAsJsonObject();
+                JsonObject entities = root.getAsJsonObject("entities");
+                if (entities == null) {
+                    BloodMod.LOGGER.warn("Blood profile file {} in {} has no \"entities\" object",
+                            layer.id, layer.resource.getPackId());
+                    continue;
+                }
+
+                for (Map.Entry<String, JsonElement> entity : entities.entrySet()) {
+                    try {
+                        Entry entry = Entry.fromJson(entity.getValue().getAsJsonObject());
+                        parsed.merge(entity.getKey(), entry, Entry::overriddenBy);
+                    } catch (RuntimeException e) {
+                        BloodMod.LOGGER.warn("Skipping blood profile {} in {} from {}: {}",
+                                entity.getKey(), layer.id, layer.resource.getPackId(), e.getMessage());
+                    }
+                }
+            } catch (Exception e) {
+                BloodMod.LOGGER.warn("Failed to read blood profile file {} from {}: {}",
+                        layer.id, layer.resource.getPackId(), e.getMessage());
+            }
+        }
+
+        return new Parsed(parsed, layers.size(), System.nanoTime() - start);
+    }
+
+    /**
+     * Publish parsed entries and rebuild the profile table. Call on the client thread.
+     */
+    public static void apply(Parsed parsed) {
+        entries = Map.copyOf(parsed.entries);
+
+        long start = System.nanoTime();
+        BloodProfile.invalidateAll();
+        for (net.minecraft.entity.EntityType<?> type : Registries.ENTITY_TYPE) {
+            BloodProfile.of(type);
+        }
+        long indexNanos = System.nanoTime() - start;
+
+        BloodMod.LOGGER.info("Loaded {} blood profiles from {} files in {} ms, indexed {} entity types in {} ms",
+                parsed.entries.size(), parsed.fileCount, parsed.parseNanos / 1_000_000,
+                Registries.ENTITY_TYPE.size(), indexNanos / 1_000_000);
+    }
+
+    /**
+     * One copy of a profile file, from one pack.
+     */
+    private static final class Layer {
+        final int packIndex;
+        final Identifier id;
+        final Resource resource;
+
+        Layer(int packIndex, Identifier id, Resource resource) {
+            this.packIndex = packIndex;
+            this.id = id;
+            this.resource = resource;
+        }
+    }
+
+    /**
+     * One entity's pack settings. Null fields are not set by the pack.
+     */
+    public static final class Entry {
+        public final Boolean bleeds;
+        public final Boolean drips;
+        public final Boolean stains;
+        public final Boolean meltsInWater;
+        public final Integer colorRGB;
+        public final BloodCategory category;
+
+        private Entry(Boolean bleeds, Boolean drips, Boolean stains, Boolean meltsInWater,
+                      Integer colorRGB, BloodCategory category) {
+            this.bleeds = bleeds;
+            this.drips = drips;
+            this.stains = stains;
+            this.meltsInWater = meltsInWater;
+            this.colorRGB = colorRGB;
+            this.category = category;
+        }
+
+        /**
+         * This entry with every field {@code higher} sets replacing ours.
+         */
+        Entry overriddenBy(Entry higher) {
+            return new Entry(
+                    higher.bleeds != null ? higher.bleeds : bleeds,
+                    higher.drips != null ? higher.drips : drips,
+                    higher.stains != null ? higher.stains : stains,
+                    higher.meltsInWater != null ? higher.meltsInWater : meltsInWater,
+                    higher.colorRGB != null ? higher.colorRGB : colorRGB,
+                    higher.category != null ? higher.category : category
+            );
+        }
+
+        static Entry fromJson(JsonObject json) {
+            return new Entry(
+                    optionalBoolean(json, "bleeds"),
+                    optionalBoolean(json, "drips"),
+                    optionalBoolean(json, "stains"),
+                    optionalBoolean(json, "melts_in_water"),
+                    optionalColor(json, "color"),
+                    json.has("category")
+                            ? BloodCategory.valueOf(json.get("category").getAsString().toUpperCase(Locale.ROOT))
+                            : null
+            );
+        }
+
+        private static Boolean optionalBoolean(JsonObject json, String key) {
+            return json.has(key) ? json.get(key).getAsBoolean() : null;
+        }
+
+        private static Integer optionalColor(JsonObject json, String key) {
+            if (!json.has(key)) {
+                return null;
+            }
+
+            JsonElement value = json.get(key);
+            if (value.getAsJsonPrimitive().isNumber()) {
+                return value.getAsInt() & 0xFFFFFF;
+            }
+
+            String hex = value.getAsString().trim();
+            if (hex.startsWith("#")) {
+                hex = hex.substring(1);
+            } else if (hex.startsWith("0x") || hex.startsWith("0X")) {
+                hex = hex.substring(2);
+            }
+            return Integer.parseInt(hex, 16) & 0xFFFFFF;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.bloodmod;
+
+/**
+ * Immutable snapshot of the config values read on the particle hot path, with every
+ * percentage already converted to a float multiplier.
+ *
+ * A new snapshot is published by {@link BloodModConfig} whenever the config is loaded or saved.
+ * Read it once via {@link BloodModConfig#runtime()} and keep the reference for the rest of the tick.
+ */
+public final class BloodRuntimeSettings {
+
+    public final boolean globalEnabled;
+    public final boolean playerBleed;
+    public final boolean hitBurstEnabled;
+    public final boolean deathBurstEnabled;
+    public final boolean lowHealthEnabled;
+
+    public final float particleSizeMultiplier;
+    public final float particleLifetimeMultiplier;
+    public final float particleGravityMultiplier;
+    public final float particleDragMultiplier;
+
+    public final boolean bloodStainsEnabled;
+    public final int stainDurationTicks;
+    public final float stainSizeMultiplier;
+
+    public final boolean underwaterFogEnabled;
+    public final float fogLifetimeMultiplier;
+    public final float fogOpacityMultiplier;
+    public final float fogSizeMultiplier;
+
+    public final boolean cullingEnabled;
+    public final float fullDetailDistance;
+    public final float maxEmissionDistance;
+    public final float farDetailMultiplier;
+
+    public final int maxDripParticles;
+    public final int maxSplashParticles;
+    public final int maxStainParticles;
+    public final int maxFogParticles;
+
+    public final boolean adaptiveQualityEnabled;
+    public final int targetFps;
+    public final float qualityFloor;
+    public final float qualityCeiling;
+
+    public final boolean crowdModeEnabled;
+    public final int crowdDeathThreshold;
+    public final int crowdParticleCap;
+
+    public final int maxSpawnsPerTick;
+    public final int maxEmissionDelayTicks;
+
+    /**
+     * particleSizeMultiplier * fogSizeMultiplier, the scale applied to fog clouds.
+     */
+    public final float fogScaleMultiplier;
+
+    /**
+     * particleSizeMultiplier * stainSizeMultiplier, the scale applied to stains.
+     */
+    public final float stainScaleMultiplier;
+
+    private BloodRuntimeSettings(BloodModConfig config) {
+        this.globalEnabled = config.globalEnabled();
+        this.playerBleed = config.playerBleed();
+        this.hitBurstEnabled = config.hitBurstEnabled();
+        this.deathBurstEnabled = config.deathBurstEnabled();
+        this.lowHealthEnabled = config.lowHealthEnabled();
+
+        this.particleSizeMultiplier = config.particleSizeMultiplier();
+        this.particleLifetimeMultiplier = config.particleLifetimeMultiplier();
+        this.particleGravityMultiplier = config.particleGravityMultiplier();
+        this.particleDragMultiplier = config.particleDragMultiplier();
+
+        this.bloodStainsEnabled = config.bloodStainsEnabled();
+        this.stainDurationTicks = config.stainDurationSeconds() * 20;
+        this.stainSizeMultiplier = config.stainSizeMultiplier();
+
+        this.underwaterFogEnabled = config.underwaterFogEnabled();
+        this.fogLifetimeMultiplier = config.fogLifetimeMultiplier();
+        this.fogOpacityMultiplier = config.fogOpacityMultiplier();
+        this.fogSizeMultiplier = config.fogSizeMultiplier();
+
+        this.cullingEnabled = config.cullingEnabled();
+        this.fullDetailDistance = config.fullDetailDistance();
+        this.maxEmissionDistance = Math.max(config.maxEmissionDistance(), config.fullDetailDistance());
+        this.farDetailMultiplier = config.farDetailMultiplier();
+
+        this.maxDripParticles = config.maxDripParticles();
+        this.maxSplashParticles = config.maxSplashParticles();
+        this.maxStainParticles = config.maxStainParticles();
+        this.maxFogParticles = config.maxFogParticles();
+
+        this.adaptiveQualityEnabled = config.adaptiveQualityEnabled();
+        this.targetFps = Math.max(config.targetFps(), 1);
+        this.qualityFloor = config.qualityFloor();
+        this.qualityCeiling = config.qualityCeiling();
+
+        this.crowdModeEnabled = config.crowdModeEnabled();
+        this.crowdDeathThreshold = config.crowdDeathThreshold();
+        this.crowdParticleCap = config.crowdParticleCap();
+
+        this.maxSpawnsPerTick = Math.max(config.maxSpawnsPerTick(), 1);
+        this.maxEmissionDelayTicks = Math.max(config.maxEmissionDelayTicks(), 0);
+
+        this.fogScaleMultiplier = particleSizeMultiplier * fogSizeMultiplier;
+        this.stainScaleMultiplier = particleSizeMultiplier * stainSizeMultiplier;
+    }
+
+    public static BloodRuntimeSettings of(BloodModConfig config) {
+        return new BloodRuntimeSettings(config);
+    }
+}
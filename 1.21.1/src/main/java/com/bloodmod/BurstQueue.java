@@ -0,0 +1,116 @@
+package com.bloodmod;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.entity.LivingEntity;
+
+/**
+ * Fixed-capacity ring buffer of reusable {@link ClientBloodBurstTask} slots.
+ *
+ * All slots are allocated up front, so starting a burst allocates nothing. When every slot is
+ * busy the oldest burst is dropped to make room, since the newest hit is the one being looked at.
+ *
+ * With hit merging on, a hit on an entity that already has a burst is folded into it, so there
+ * is at most one burst per entity.
+ * Only touched from the client thread.
+ */
+public final class BurstQueue {
+
+    private final ClientBloodBurstTask[] slots;
+    private final int mask;
+    private final Int2ObjectOpenHashMap<ClientBloodBurstTask> byEntity = new Int2ObjectOpenHashMap<>();
+    private int head;
+    private int size;
+    private long dropped;
+    private long merged;
+
+    /**
+     * @param capacity rounded up to a power of two
+     */
+    public BurstQueue(int capacity) {
+        int rounded = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+        this.slots = new ClientBloodBurstTask[rounded];
+        for (int i = 0; i < rounded; i++) {
+            slots[i] = new ClientBloodBurstTask();
+        }
+        this.mask = rounded - 1;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Bursts that were dropped because the queue was full.
+     */
+    public long dropped() {
+        return dropped;
+    }
+
+    /**
+     * Hits that were folded into an existing burst.
+     */
+    public long merged() {
+        return merged;
+    }
+
+    public void add(LivingEntity entity, float damage) {
+        if (BloodModClient.getConfig().burstMergeEnabled()) {
+            ClientBloodBurstTask active = byEntity.get(entity.getId());
+            if (active != null) {
+                active.merge(damage);
+                merged++;
+                return;
+            }
+        }
+
+        if (size == slots.length) {
+            forget(slots[head]);
+            head = (head + 1) & mask;
+            size--;
+            dropped++;
+        }
+
+        ClientBloodBurstTask task = slots[(head + size) & mask];
+        task.init(entity, damage);
+        byEntity.put(task.entityId(), task);
+        size++;
+    }
+
+    /**
+     * Tick every burst, compacting finished ones out while keeping the rest in order.
+     */
+    public void tick(ClientWorld world) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            int index = (head + i) & mask;
+            ClientBloodBurstTask task = slots[index];
+            if (!task.tick(world)) {
+                forget(task);
+                continue;
+            }
+
+            if (kept != i) {
+                // Swap the live task forward; the finished slot moves back and is reused later
+                int target = (head + kept) & mask;
+                slots[index] = slots[target];
+                slots[target] = task;
+            }
+            kept++;
+        }
+        size = kept;
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+        byEntity.clear();
+    }
+
+    private void forget(ClientBloodBurstTask task) {
+        // With merging off an entity can have several bursts; only the newest is indexed
+        if (byEntity.get(task.entityId()) == task) {
+            byEntity.remove(task.entityId());
+        }
+    }
+}
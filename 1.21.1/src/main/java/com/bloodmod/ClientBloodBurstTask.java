@@ -1,10 +1,12 @@
 package com.bloodmod;
 
-import com.bloodmod.particle.BloodParticle;
 import net.minecraft.client.world.ClientWorld;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.sound.SoundEvents;
 
+/**
+ * One in-flight hit burst. Instances are pooled slots in {@link BurstQueue}.
+ */
 public class ClientBloodBurstTask {
 
     private static final int MIN_TICKS = 3;   
@@ -13,26 +15,74 @@ public class ClientBloodBurstTask {
 
     private static final float DAMAGE_CAP = 20.0f;
 
-    private final ClientWorld world;
-    private final LivingEntity entity;
-    private final float damage;
-    private final int durationTicks;
+    private int entityId;
+    private float damage;
+    private int durationTicks;
     private int ticksRemaining;
     private boolean soundPlayed;
-    private final BloodColor.Color bloodColor;
-    private final boolean entityIsUnderwater; 
+    private int bloodColor;
+    private BloodProfile profile;
+    private boolean entityIsUnderwater; 
+
+    private float spreadFactor;
+    private int dripsPerTick;
+    private int splashPerTick;
+
+    // Only set by the deprecated public constructor, for BloodModClient.addBurstTask
+    LivingEntity requestedEntity;
+    float requestedDamage;
+
+    /**
+     * Slots are allocated once by {@link BurstQueue} and reused through {@link #init}.
+     */
+    ClientBloodBurstTask() {
+    }
 
+    /**
+     * Kept for addons written against the old API. The task only carries its arguments to
+     * {@link BloodModClient#addBurstTask}, which starts a pooled burst for them.
+     *
+     * @deprecated use {@link BloodModClient#addBurst(LivingEntity, float)}
+     */
+    @Deprecated
     public ClientBloodBurstTask(ClientWorld world, LivingEntity entity, float damage) {
-        this.world = world;
-        this.entity = entity;
+        this.requestedEntity = entity;
+        this.requestedDamage = damage;
+    }
+
+    /**
+     * Set this slot up for a new hit and plan its emission.
+     */
+    void init(LivingEntity entity, float damage) {
+        this.entityId = entity.getId();
         this.damage = damage;
+        this.ticksRemaining = 0;
 
         this.bloodColor = BloodColor.getBloodColor(entity);
+        this.profile = BloodProfile.of(entity);
 
         this.entityIsUnderwater = entity.isSubmergedInWater() || entity.isTouchingWater();
+        this.soundPlayed = false;
 
+        plan(BloodModClient.getConfig(), true);
+    }
+
+    /**
+     * Fold another hit on the same entity into this burst instead of starting a parallel one.
+     * The burst keeps its single sound; damage, and with it the particle budget, grows up to the
+     * configured cap, and the remaining duration is extended if the merge rules allow it.
+     */
+    void merge(float extraDamage) {
         BloodModConfig config = BloodModClient.getConfig();
 
+        float merged = Math.min(damage + extraDamage, Math.max(damage, config.burstMergeDamageCap()));
+        if (merged <= damage) return;
+
+        this.damage = merged;
+        plan(config, config.burstMergeExtendsDuration());
+    }
+
+    private void plan(BloodModConfig config, boolean extendDuration) {
         int calculatedTicks;
         if (damage < 3.0f) {
 
@@ -45,30 +95,46 @@ public class ClientBloodBurstTask {
         }
 
         this.durationTicks = (int)(calculatedTicks * config.burstDurationMultiplier());
-        this.ticksRemaining = durationTicks;
-        this.soundPlayed = false;
-    }
+        if (extendDuration) {
+            this.ticksRemaining = Math.max(ticksRemaining, durationTicks);
+        }
 
-    public boolean tick() {
-        if (ticksRemaining <= 0) return false;
+        float spreadMult = config.burstSpreadMultiplier();
+        float intensityMult = config.burstIntensityMultiplier() * QualityGovernor.scale();
 
-        net.minecraft.client.MinecraftClient client = net.minecraft.client.MinecraftClient.getInstance();
-        if (client.isPaused()) {
-            return true; 
+        this.spreadFactor = Math.min(damage / 10.0f, 2.0f) * spreadMult;
 
-        }
+        int totalDrips  = (int)(Math.min(1 + (int)(damage * 1.2f), 15) * intensityMult);
+        int totalSplash = (int)(Math.min(1 + (int)(damage * 1.8f), 23) * intensityMult);
 
-        if (entity.isDead() || entity.isRemoved()) return false;
+        // Whatever is left of the burst carries the (possibly merged) total
+        int spreadTicks = Math.max(ticksRemaining, 1);
+        this.dripsPerTick  = Math.max(1, totalDrips / spreadTicks);
+        this.splashPerTick = Math.max(1, totalSplash / spreadTicks);
+    }
 
-        BloodParticle.setCurrentBloodColor(bloodColor);
+    int entityId() {
+        return entityId;
+    }
 
-        BloodParticle.setShouldTransformToFog(shouldEntityCreateFog());
+    /**
+     * Emit this tick's share of the burst. The entity is looked up by id each time so the slot
+     * never keeps it, or its world, alive.
+     *
+     * @return false once the burst is finished or the entity is gone
+     */
+    boolean tick(ClientWorld world) {
+        if (ticksRemaining <= 0) return false;
 
-        BloodParticle.setShouldDespawnInWater(shouldParticlesDespawnInWater());
+        if (!(world.getEntityById(entityId) instanceof LivingEntity entity)) return false;
+
+        if (entity.isDead() || entity.isRemoved()) return false;
+
+        EmissionQueue.begin(bloodColor, profile);
 
         if (!soundPlayed) {
             if (!entityIsUnderwater) {
-                playHitSound();
+                playHitSound(world, entity);
             }
             soundPlayed = true;
         }
@@ -79,17 +145,14 @@ public class ClientBloodBurstTask {
         double bbW    = entity.getWidth();
         double bbH    = entity.getHeight();
 
-        BloodModConfig config = BloodModClient.getConfig();
-        float spreadMult = config.burstSpreadMultiplier();
-        float intensityMult = config.burstIntensityMultiplier();
+        float cullScale = BloodCulling.emissionScale(entity);
 
-        float spreadFactor = Math.min(damage / 10.0f, 2.0f) * spreadMult;
+        BloodBudget.Priority priority = BloodBudget.Priority.of(entity);
 
-        int totalDrips  = (int)(Math.min(1 + (int)(damage * 1.2f), 15) * intensityMult);
-        int totalSplash = (int)(Math.min(1 + (int)(damage * 1.8f), 23) * intensityMult);
-
-        int dripsThisTick  = Math.max(1, totalDrips / durationTicks);
-        int splashThisTick = Math.max(1, totalSplash / durationTicks);
+        int dripsThisTick  = BloodBudget.admit(BloodBudget.Kind.DRIP,
+                BloodCulling.scaleCount(dripsPerTick, cullScale, world.random), priority);
+        int splashThisTick = BloodBudget.admit(BloodBudget.Kind.SPLASH,
+                BloodCulling.scaleCount(splashPerTick, cullScale, world.random), priority);
 
         float velocityAdjust = entityIsUnderwater ? 0.3f : 1.0f;
 
@@ -102,8 +165,8 @@ public class ClientBloodBurstTask {
             double velY = (-1.2 - world.random.nextDouble() * 0.8 * spreadFactor) * velocityAdjust;
             double velZ = (world.random.nextDouble() - 0.5) * 0.2 * spreadFactor;
 
-            net.minecraft.client.MinecraftClient.getInstance().particleManager.addParticle(
-                    BloodParticles.BLOOD_DRIP,
+            EmissionQueue.emit(
+                    BloodBudget.Kind.DRIP,
                     spawnX, spawnY, spawnZ,
                     velX, velY, velZ
             );
@@ -121,8 +184,8 @@ public class ClientBloodBurstTask {
             double velY = ((-0.8 - world.random.nextDouble() * 0.6) * spreadFactor) * velocityAdjust;
             double velZ = Math.sin(angle) * speed * 0.5;
 
-            net.minecraft.client.MinecraftClient.getInstance().particleManager.addParticle(
-                    BloodParticles.BLOOD_SPLASH,
+            EmissionQueue.emit(
+                    BloodBudget.Kind.SPLASH,
                     spawnX, spawnY, spawnZ,
                     velX, velY, velZ
             );
@@ -132,7 +195,7 @@ public class ClientBloodBurstTask {
         return ticksRemaining > 0;
     }
 
-    private void playHitSound() {
+    private void playHitSound(ClientWorld world, LivingEntity entity) {
 
         BloodModConfig config = BloodModClient.getConfig();
         if (!config.soundEnabled()) {
@@ -161,16 +224,4 @@ public class ClientBloodBurstTask {
                 )
         );
     }
-
-    private boolean shouldEntityCreateFog() {
-
-        return BloodMod.shouldEntityTransformToStains(entity) && BloodMod.shouldEntityDripAtLowHealth(entity);
-    }
-
-    private boolean shouldParticlesDespawnInWater() {
-        net.minecraft.util.Identifier id = net.minecraft.registry.Registries.ENTITY_TYPE.getId(entity.getType());
-        String entityType = id.getPath();
-
-        return entityType.equals("snow_golem");
-    }
 }
\ No newline at end of file
@@ -0,0 +1,154 @@
+package com.bloodmod;
+
+import java.util.Arrays;
+
+/**
+ * Two-level hierarchical timing wheel of entity ids keyed by due tick.
+ *
+ * The inner wheel has one slot per tick of the current 64-tick block. The outer wheel has one slot
+ * per block for the next 64 blocks, and each outer slot is cascaded into the inner wheel when its
+ * block starts. Anything further out is parked a full turn ahead and re-filed on cascade.
+ *
+ * Entries are never removed early. The owner re-schedules by simply adding a new entry and checks
+ * each due entry against its own record, dropping stale ones.
+ */
+public final class DripWheel {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int NONE = -1;
+
+    private final int[] inner = new int[SLOTS];
+    private final int[] outer = new int[SLOTS];
+
+    private int[] nodeEntity = new int[64];
+    private long[] nodeDue = new long[64];
+    private int[] nodeNext = new int[64];
+    private int freeNode = NONE;
+    private int nodeCount;
+
+    private int[] dueEntities = new int[16];
+    private long[] dueTicks = new long[16];
+
+    private long now;
+
+    public DripWheel() {
+        Arrays.fill(inner, NONE);
+        Arrays.fill(outer, NONE);
+    }
+
+    /**
+     * The tick the next {@link #advance()} will fire.
+     */
+    public long now() {
+        return now;
+    }
+
+    public void schedule(int entityId, long dueTick) {
+        int node = allocate();
+        nodeEntity[node] = entityId;
+        nodeDue[node] = Math.max(dueTick, now);
+        file(node);
+    }
+
+    /**
+     * Fire the current tick and move on to the next one.
+     *
+     * @return how many entries were due; read them with {@link #dueEntity(int)} and {@link #dueTick(int)}
+     */
+    public int advance() {
+        if ((now & SLOT_MASK) == 0) {
+            int slot = (int) (now >>> SLOT_BITS) & SLOT_MASK;
+            int node = outer[slot];
+            outer[slot] = NONE;
+            while (node != NONE) {
+                int next = nodeNext[node];
+                file(node);
+                node = next;
+            }
+        }
+
+        int slot = (int) now & SLOT_MASK;
+        int node = inner[slot];
+        inner[slot] = NONE;
+
+        int count = 0;
+        while (node != NONE) {
+            if (count == dueEntities.length) {
+                dueEntities = Arrays.copyOf(dueEntities, count << 1);
+                dueTicks = Arrays.copyOf(dueTicks, count << 1);
+            }
+            dueEntities[count] = nodeEntity[node];
+            dueTicks[count] = nodeDue[node];
+            count++;
+
+            int next = nodeNext[node];
+            release(node);
+            node = next;
+        }
+
+        now++;
+        return count;
+    }
+
+    public int dueEntity(int index) {
+        return dueEntities[index];
+    }
+
+    public long dueTick(int index) {
+        return dueTicks[index];
+    }
+
+    /**
+     * Drop every entry. The tick counter keeps running.
+     */
+    public void clear() {
+        Arrays.fill(inner, NONE);
+        Arrays.fill(outer, NONE);
+        freeNode = NONE;
+        nodeCount = 0;
+    }
+
+    private void file(int node) {
+        long due = nodeDue[node];
+        long currentBlock = now >>> SLOT_BITS;
+        long block = due >>> SLOT_BITS;
+
+        if (block == currentBlock) {
+            int slot = (int) due & SLOT_MASK;
+            nodeNext[node] = inner[slot];
+            inner[slot] = node;
+            return;
+        }
+
+        // Too far out for the outer wheel: park it a full turn ahead and re-file it from there
+        if (block - currentBlock > SLOTS) {
+            block = currentBlock + SLOTS;
+        }
+        int slot = (int) block & SLOT_MASK;
+        nodeNext[node] = outer[slot];
+        outer[slot] = node;
+    }
+
+    private int allocate() {
+        if (freeNode != NONE) {
+            int node = freeNode;
+            freeNode = nodeNext[node];
+            return node;
+        }
+
+        if (nodeCount == nodeEntity.length) {
+            int capacity = nodeCount << 1;
+            nodeEntity = Arrays.copyOf(nodeEntity, capacity);
+            nodeDue = Arrays.copyOf(nodeDue, capacity);
+            nodeNext = Arrays.copyOf(nodeNext, capacity);
+        }
+        return nodeCount++;
+    }
+
+    private void release(int node) {
+        nodeNext[node] = freeNode;
+        freeNode = node;
+    }
+}
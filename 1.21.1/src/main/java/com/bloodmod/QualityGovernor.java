@@ -0,0 +1,135 @@
+package com.bloodmod;
+
+import net.minecraft.client.MinecraftClient;
+
+/**
+ * Scales blood intensity down when the client is struggling and back up once it recovers.
+ *
+ * Frame time (from the current FPS) and client tick duration are smoothed with an exponential
+ * moving average and compared against the target frame rate and a tick time budget. Frame rate
+ * limits are not mistaken for load: when the frame cap or vsync sits below the target, the cap
+ * becomes the target and running at it counts as headroom, and frame time is ignored entirely
+ * while the window is unfocused or minimized, since the game throttles itself then. Under
+ * pressure the scale steps down; with clear headroom it steps back up; in between it holds, so
+ * quality does not oscillate around the target. The scale stays between the configured floor and
+ * ceiling and multiplies the burst, death and drip intensity settings.
+ * Only touched from the client thread.
+ */
+public final class QualityGovernor {
+
+    private static final int EVALUATE_INTERVAL_TICKS = 20;
+    private static final float SMOOTHING = 0.1f;
+
+    /**
+     * Client tick time considered healthy, well under the 50 ms a tick may take.
+     */
+    private static final float TICK_BUDGET_MS = 25.0f;
+
+    /**
+     * Max framerate slider value that means unlimited.
+     */
+    private static final int UNLIMITED_FPS = 260;
+
+    /**
+     * Frame time within this factor of a frame cap still counts as running at the cap.
+     */
+    private static final float CAP_TOLERANCE = 1.05f;
+
+    private static final float DEGRADE_ABOVE = 1.10f;
+    private static final float RECOVER_BELOW = 0.85f;
+    private static final float DEGRADE_FACTOR = 0.85f;
+    private static final float RECOVER_STEP = 0.05f;
+
+    private static float frameTimeMs = Float.NaN;
+    private static float tickTimeMs = Float.NaN;
+    private static long tickStartNanos;
+    private static int ticksSinceEvaluation;
+    private static float scale = 1.0f;
+
+    private QualityGovernor() {
+    }
+
+    /**
+     * Current multiplier for blood intensity, 1 when adaptive quality is off.
+     */
+    public static float scale() {
+        return scale;
+    }
+
+    public static float frameTimeMs() {
+        return frameTimeMs;
+    }
+
+    public static float tickTimeMs() {
+        return tickTimeMs;
+    }
+
+    public static void startTick() {
+        tickStartNanos = System.nanoTime();
+    }
+
+    public static void endTick(MinecraftClient client) {
+        BloodRuntimeSettings settings = BloodModConfig.runtime();
+        if (!settings.adaptiveQualityEnabled) {
+            scale = 1.0f;
+            return;
+        }
+
+        float tickMs = (System.nanoTime() - tickStartNanos) / 1_000_000.0f;
+        float frameMs = 1000.0f / Math.max(client.getCurrentFps(), 1);
+        tickTimeMs = smooth(tickTimeMs, tickMs);
+        frameTimeMs = smooth(frameTimeMs, frameMs);
+
+        if (++ticksSinceEvaluation < EVALUATE_INTERVAL_TICKS) return;
+        ticksSinceEvaluation = 0;
+
+        float pressure = Math.max(framePressure(client, settings.targetFps), tickTimeMs / TICK_BUDGET_MS);
+
+        float next = scale;
+        if (pressure > DEGRADE_ABOVE) {
+            next = scale * DEGRADE_FACTOR;
+        } else if (pressure < RECOVER_BELOW) {
+            next = scale + RECOVER_STEP;
+        }
+        next = Math.max(settings.qualityFloor, Math.min(settings.qualityCeiling, next));
+
+        if (next != scale) {
+            BloodMod.LOGGER.debug("Blood quality {} -> {} (frame {} ms, tick {} ms)",
+                    scale, next, frameTimeMs, tickTimeMs);
+            scale = next;
+        }
+    }
+
+    private static float framePressure(MinecraftClient client, int targetFps) {
+        if (!client.isWindowFocused()) {
+            return 0.0f;
+        }
+
+        int cap = frameRateCap(client);
+        if (cap < targetFps) {
+            float capFrameMs = 1000.0f / cap;
+            return frameTimeMs <= capFrameMs * CAP_TOLERANCE ? 0.0f : frameTimeMs / capFrameMs;
+        }
+        return frameTimeMs / (1000.0f / targetFps);
+    }
+
+    /**
+     * The most frames per second the game will render, from the max framerate option and vsync.
+     */
+    private static int frameRateCap(MinecraftClient client) {
+        int cap = client.options.getMaxFps().getValue();
+        if (cap >= UNLIMITED_FPS) {
+            cap = Integer.MAX_VALUE;
+        }
+
+        int refreshRate = client.getWindow().getRefreshRate();
+        if (client.options.getEnableVsync().getValue() && refreshRate > 0) {
+            cap = Math.min(cap, refreshRate);
+        }
+        return Math.max(cap, 1);
+    }
+
+    private static float smooth(float average, float sample) {
+        return Float.isNaN(average) ? sample : average + (sample - average) * SMOOTHING;
+    }
+}
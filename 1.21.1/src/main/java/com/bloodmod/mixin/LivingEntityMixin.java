@@ -1,57 +1,58 @@
 package com.bloodmod.mixin;
 
+import com.bloodmod.BloodDebugStats;
 import com.bloodmod.BloodMod;
 import com.bloodmod.BloodModClient;
-import com.bloodmod.ClientBloodBurstTask;
+import com.bloodmod.BloodProfile;
 import com.bloodmod.ClientBloodParticleSpawner;
+import com.bloodmod.CrowdAggregator;
+import com.bloodmod.EntityDamageTracker;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.world.ClientWorld;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.damage.DamageSource;
 import net.minecraft.entity.data.TrackedData;
 import net.minecraft.entity.player.PlayerEntity;
+import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
-import java.util.HashMap;
-import java.util.Map;
-
 @Mixin(LivingEntity.class)
 public class LivingEntityMixin {
 
-    @Unique
-    private static final Map<Integer, Long> lastDamageTime = new HashMap<>();
-
-    @Unique
-    private static final Map<Integer, Float> lastHealth = new HashMap<>();
+    @Shadow
+    @Final
+    private static TrackedData<Float> HEALTH;
 
     /**
-     * Get damage cooldown from config
+     * Get damage cooldown from config, in ticks
      */
     @Unique
     private static long getDamageCooldown() {
-        return BloodModClient.getConfig().damageCooldownMs();
+        return BloodModClient.getConfig().damageCooldownTicks();
     }
 
     /**
      * Detect when entity's tracked data changes (including health).
      * This is called on the client when the server sends entity data updates.
-     * We use this to detect when health decreases, which indicates damage.
+     * Only health updates are looked at; a decrease indicates damage.
      */
     @Inject(method = "onTrackedDataSet", at = @At("HEAD"))
     private void onTrackedDataSet(TrackedData<?> data, CallbackInfo ci) {
+        // Runs for every tracked-data write on every living entity; only health matters
+        if (data != HEALTH) return;
+
         LivingEntity entity = (LivingEntity)(Object)this;
 
-        // Only run on client side
+        // Only run on client side (also keeps the integrated server thread off the debug counters)
         if (!entity.getEntityWorld().isClient() || !(entity.getEntityWorld() instanceof ClientWorld clientWorld)) {
             return;
         }
-
-        // FIXED: Instead of checking data ID (which can change), we check every tracked data update
-        // and compare the current health with our stored value. This is more robust.
+        BloodDebugStats.trackedDataProcessed();
 
         // Skip if game is paused (singleplayer only)
         MinecraftClient client = MinecraftClient.getInstance();
@@ -59,14 +60,19 @@ public class LivingEntityMixin {
             return;
         }
 
+        EntityDamageTracker damageTracker = BloodModClient.getDamageTracker();
         int entityId = entity.getId();
         float currentHealth = entity.getHealth();
-        Float previous = lastHealth.get(entityId);
+        float previous = damageTracker.health(entityId);
+        var cfg = BloodModClient.getConfig();
+        if (cfg.globalEnabled() && cfg.lowHealthEnabled()) {
+            BloodModClient.getLowHealthIndex().update(entity, currentHealth);
+        }
 
         // Only process if health decreased (damage taken)
-        if (previous == null || currentHealth >= previous) {
+        if (Float.isNaN(previous) || currentHealth >= previous) {
             // Health increased or stayed same - just update and return
-            lastHealth.put(entityId, currentHealth);
+            damageTracker.putHealth(entityId, currentHealth);
             return;
         }
 
@@ -74,18 +80,15 @@ public class LivingEntityMixin {
         float damage = previous - currentHealth;
 
         // Spam prevention: Check if this entity was damaged recently (using config cooldown)
-        long currentTime = System.currentTimeMillis();
-        Long lastTime = lastDamageTime.get(entityId);
+        long currentTime = BloodModClient.getClock().ticks();
+        long lastTime = damageTracker.lastDamageTime(entityId);
 
-        if (lastTime != null && (currentTime - lastTime) < getDamageCooldown()) {
-            lastHealth.put(entityId, currentHealth);
+        if (lastTime != EntityDamageTracker.NEVER && (currentTime - lastTime) < getDamageCooldown()) {
+            damageTracker.putHealth(entityId, currentHealth);
             return; // Too soon, skip this damage event
         }
 
-        lastDamageTime.put(entityId, currentTime);
-        lastHealth.put(entityId, currentHealth);
-
-        var cfg = BloodModClient.getConfig();
+        damageTracker.recordDamage(entityId, currentHealth, currentTime);
 
         // Check if mod is enabled and hit burst is enabled
         if (!cfg.globalEnabled() || !cfg.hitBurstEnabled()) return;
@@ -97,10 +100,10 @@ public class LivingEntityMixin {
         }
 
         // Only spawn blood for entities that should bleed
-        if (BloodMod.shouldEntityBleed(entity)) {
+        if (BloodProfile.of(entity).bleeds) {
             BloodMod.LOGGER.debug("Spawning blood burst for entity {} (ID: {}) with damage {}",
                     entity.getType().getTranslationKey(), entityId, damage);
-            BloodModClient.addBurstTask(new ClientBloodBurstTask(clientWorld, entity, damage));
+            BloodModClient.addBurst(entity, damage);
         }
     }
 
@@ -135,13 +138,12 @@ public class LivingEntityMixin {
         }
 
         // Only spawn blood for entities that should bleed
-        if (BloodMod.shouldEntityBleed(entity)) {
+        if (BloodProfile.of(entity).bleeds && !CrowdAggregator.absorb(entity)) {
             ClientBloodParticleSpawner.spawnBloodOnDeath(clientWorld, entity);
         }
 
         // Clean up tracking maps for this entity
-        int entityId = entity.getId();
-        lastHealth.remove(entityId);
-        lastDamageTime.remove(entityId);
+        BloodModClient.getDamageTracker().remove(entity.getId());
+        BloodModClient.getLowHealthIndex().remove(entity.getId());
     }
 }
\ No newline at end of file
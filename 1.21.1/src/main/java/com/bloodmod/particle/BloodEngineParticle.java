@@ -0,0 +1,91 @@
+package com.bloodmod.particle;
+
+import net.minecraft.client.particle.ParticleTextureSheet;
+import net.minecraft.client.particle.SpriteBillboardParticle;
+import net.minecraft.client.render.Camera;
+import net.minecraft.client.render.VertexConsumer;
+import net.minecraft.client.texture.Sprite;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+
+/**
+ * The one particle the vanilla particle manager sees for all blood. It writes a camera-facing quad
+ * for every live blood particle into the translucent particle sheet. It only draws;
+ * {@link BloodParticleEngine} is ticked from the client tick and replaces the host if the particle
+ * manager stops ticking it. It dies once the engine is empty.
+ */
+public class BloodEngineParticle extends SpriteBillboardParticle {
+
+    private static final Box EVERYWHERE = new Box(
+            -3.0E7, -2048.0, -3.0E7, 3.0E7, 2048.0, 3.0E7);
+
+    private final Vector3f corner = new Vector3f();
+
+    BloodEngineParticle(ClientWorld world, Sprite sprite) {
+        super(world, 0.0, 0.0, 0.0);
+        this.setSprite(sprite);
+        this.collidesWithWorld = false;
+    }
+
+    @Override
+    public void tick() {
+        BloodParticleEngine.hostTicked();
+        if (BloodParticleEngine.size == 0) {
+            this.markDead();
+        }
+    }
+
+    @Override
+    public void buildGeometry(VertexConsumer vertexConsumer, Camera camera, float tickDelta) {
+        Quaternionf rotation = camera.getRotation();
+        Vec3d cameraPos = camera.getPos();
+
+        for (int i = 0; i < BloodParticleEngine.size; i++) {
+            float px = (float) (MathHelper.lerp(tickDelta, BloodParticleEngine.prevX[i], BloodParticleEngine.x[i]) - cameraPos.x);
+            float py = (float) (MathHelper.lerp(tickDelta, BloodParticleEngine.prevY[i], BloodParticleEngine.y[i]) - cameraPos.y);
+            float pz = (float) (MathHelper.lerp(tickDelta, BloodParticleEngine.prevZ[i], BloodParticleEngine.z[i]) - cameraPos.z);
+
+            Sprite particleSprite = BloodParticleEngine.sprite[i];
+            float minU = particleSprite.getMinU();
+            float maxU = particleSprite.getMaxU();
+            float minV = particleSprite.getMinV();
+            float maxV = particleSprite.getMaxV();
+
+            float size = BloodParticleEngine.scale[i];
+            float r = BloodParticleEngine.red[i];
+            float g = BloodParticleEngine.green[i];
+            float b = BloodParticleEngine.blue[i];
+            float a = BloodParticleEngine.alpha[i];
+            int light = BloodParticleEngine.light[i];
+
+            vertex(vertexConsumer, rotation, px, py, pz, 1.0f, -1.0f, size, maxU, maxV, r, g, b, a, light);
+            vertex(vertexConsumer, rotation, px, py, pz, 1.0f, 1.0f, size, maxU, minV, r, g, b, a, light);
+            vertex(vertexConsumer, rotation, px, py, pz, -1.0f, 1.0f, size, minU, minV, r, g, b, a, light);
+            vertex(vertexConsumer, rotation, px, py, pz, -1.0f, -1.0f, size, minU, maxV, r, g, b, a, light);
+        }
+    }
+
+    private void vertex(VertexConsumer vertexConsumer, Quaternionf rotation,
+                        float px, float py, float pz, float cornerX, float cornerY, float size,
+                        float u, float v, float r, float g, float b, float a, int light) {
+        corner.set(cornerX, cornerY, 0.0f).rotate(rotation).mul(size).add(px, py, pz);
+        vertexConsumer.vertex(corner.x(), corner.y(), corner.z()).texture(u, v).color(r, g, b, a).light(light);
+    }
+
+    /**
+     * Blood can be anywhere in view, so the host itself must never be frustum culled.
+     */
+    @Override
+    public Box getBoundingBox() {
+        return EVERYWHERE;
+    }
+
+    @Override
+    public ParticleTextureSheet getType() {
+        return ParticleTextureSheet.PARTICLE_SHEET_TRANSLUCENT;
+    }
+}
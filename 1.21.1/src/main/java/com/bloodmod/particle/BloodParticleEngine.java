@@ -0,0 +1,664 @@
+package com.bloodmod.particle;
+
+import com.bloodmod.BloodBudget;
+import com.bloodmod.BloodColor;
+import com.bloodmod.BloodModConfig;
+import com.bloodmod.BloodParticles;
+import com.bloodmod.BloodRuntimeSettings;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.render.WorldRenderer;
+import net.minecraft.client.texture.Sprite;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.random.Random;
+import net.minecraft.util.shape.VoxelShape;
+
+import java.util.Arrays;
+
+/**
+ * Simulates every blood drip, splash and fog cloud in parallel primitive arrays instead of one
+ * {@code Particle} object each.
+ *
+ * All live blood is ticked in one loop from the client tick and drawn by a single
+ * {@link BloodEngineParticle} host, so the vanilla particle manager only ever holds one blood
+ * particle and its per-sheet limit is never taken up by blood. The host only renders; if the
+ * particle manager drops it, for example by evicting it from a full sheet, the simulation keeps
+ * going and a new host is added once the old one stops being ticked. Dead particles are swap-removed, so the arrays stay dense. Collision is
+ * resolved against block collision shapes directly rather than through entity collision boxes,
+ * and drops at rest skip it entirely until {@link SupportIndex} reports a change beneath them.
+ * Stains are handed to {@link StainDecals}. Only touched from the client thread.
+ */
+public final class BloodParticleEngine {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    /**
+     * Hard cap independent of the budget, as a safety net.
+     */
+    private static final int MAX_CAPACITY = 1 << 16;
+
+    /**
+     * Ticks the host may go unticked before it counts as dropped and is replaced. A new host is
+     * first ticked two ticks after it is added.
+     */
+    private static final int HOST_STALE_TICKS = 4;
+
+    private static final float BASE_GRAVITY = 0.04f;
+    private static final float BASE_DRAG = 0.98f;
+    private static final int BASE_LIFE = 40;
+    private static final int JITTER = 10;
+
+    private static final float MIN_SCALE = 0.08f;
+    private static final float MAX_SCALE = 0.16f;
+
+    private static final float FOG_MIN_SCALE = 1.2f;
+    private static final float FOG_MAX_SCALE = 2.4f;
+    private static final int FOG_BASE_LIFE = 60;
+
+    /**
+     * Vanilla particle physics: velocity damping and ground friction applied on every move.
+     */
+    private static final float PARTICLE_DRAG = 0.98f;
+    private static final float GROUND_FRICTION = 0.7f;
+
+    static final byte SPLASH = 1;
+    static final byte FOG = 2;
+    static final byte CAN_FOG = 4;
+    static final byte MELTS = 8;
+    static final byte RESTING = 16;
+    static final byte COLLIDED_BELOW = 32;
+
+    static int size;
+    static int capacity;
+
+    static double[] x, y, z;
+    static double[] prevX, prevY, prevZ;
+    static double[] velX, velY, velZ;
+    static int[] baseColor;
+    static float[] red, green, blue, alpha;
+    static float[] scale;
+    static int[] age, maxAge;
+    static int[] light;
+    static byte[] flags;
+    static Sprite[] sprite;
+    private static SupportIndex.Column[] supportColumn;
+    private static int[] supportVersion;
+
+    private static ClientWorld world;
+    private static BloodEngineParticle host;
+    private static long ticks;
+    private static long hostTickedAt;
+    private static long refused;
+
+    private static final BlockPos.Mutable mutable = new BlockPos.Mutable();
+
+    static {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    private BloodParticleEngine() {
+    }
+
+    /**
+     * Add a drip or splash. Takes over what the old per-particle constructor did: the vanilla
+     * particle velocity spread, lifetime, size, budget accounting and turning straight into fog
+     * or melting when spawned underwater.
+     */
+    public static void spawn(ClientWorld clientWorld, BloodBudget.Kind kind,
+                             double posX, double posY, double posZ,
+                             double vx, double vy, double vz,
+                             Sprite particleSprite, int color,
+                             boolean canTransformToFog, boolean meltsInWater) {
+        if (clientWorld != world) {
+            releaseAll();
+            clear();
+            world = clientWorld;
+        }
+
+        if (size == capacity) {
+            if (capacity == MAX_CAPACITY) {
+                refused++;
+                return;
+            }
+            grow();
+        }
+
+        BloodRuntimeSettings settings = BloodModConfig.runtime();
+        Random random = clientWorld.random;
+
+        int i = size++;
+        x[i] = prevX[i] = posX;
+        y[i] = prevY[i] = posY;
+        z[i] = prevZ[i] = posZ;
+        spreadVelocity(i, vx, vy, vz, random);
+        baseColor[i] = color;
+        red[i] = BloodColor.red(color);
+        green[i] = BloodColor.green(color);
+        blue[i] = BloodColor.blue(color);
+        alpha[i] = 1.0f;
+        scale[i] = (MIN_SCALE + random.nextFloat() * (MAX_SCALE - MIN_SCALE)) * settings.particleSizeMultiplier;
+        age[i] = 0;
+        int baseLifetime = BASE_LIFE + (int)(random.nextFloat() * JITTER * 2) - JITTER;
+        maxAge[i] = (int)(baseLifetime * settings.particleLifetimeMultiplier);
+        light[i] = 0;
+        sprite[i] = particleSprite;
+        flags[i] = (byte) ((kind == BloodBudget.Kind.SPLASH ? SPLASH : 0)
+                | (canTransformToFog ? CAN_FOG : 0)
+                | (meltsInWater ? MELTS : 0));
+
+        BloodBudget.acquire(kind);
+
+        boolean spawnedInWater = WaterSectionIndex.isWater(clientWorld,
+                MathHelper.floor(posX), MathHelper.floor(posY), MathHelper.floor(posZ));
+        if (spawnedInWater && canTransformToFog && settings.underwaterFogEnabled) {
+            if (!transformToFog(i, settings, random)) {
+                maxAge[i] = 0;
+            }
+        } else if (spawnedInWater && meltsInWater) {
+            maxAge[i] = 0;
+        }
+        updateLight(i);
+
+        ensureHost();
+    }
+
+    /**
+     * Advance every particle by one tick. Called from the client tick while the game is not paused.
+     */
+    public static void tick() {
+        ticks++;
+        if (world == null) return;
+
+        BloodRuntimeSettings settings = BloodModConfig.runtime();
+        Random random = world.random;
+        WaterSectionIndex.nextTick();
+
+        int i = 0;
+        while (i < size) {
+            if (tickOne(i, settings, random)) {
+                updateLight(i);
+                i++;
+            } else {
+                remove(i);
+            }
+        }
+
+        if (size > 0) {
+            ensureHost();
+        }
+    }
+
+    /**
+     * Called by the host on each of its ticks, to show the particle manager still holds it.
+     */
+    static void hostTicked() {
+        hostTickedAt = ticks;
+    }
+
+    public static int size() {
+        return size;
+    }
+
+    public static int capacity() {
+        return capacity;
+    }
+
+    public static long refused() {
+        return refused;
+    }
+
+    /**
+     * Drop every particle without touching the budget. Called on world change, together with
+     * {@link BloodBudget#reset()}; the particle manager has dropped the host by then too.
+     */
+    public static void clear() {
+        Arrays.fill(sprite, 0, size, null);
+        Arrays.fill(supportColumn, 0, size, null);
+        size = 0;
+        world = null;
+        host = null;
+    }
+
+    /**
+     * Give back the budget and support of every particle, for when the world changes under the
+     * engine without {@link BloodBudget#reset()}.
+     */
+    private static void releaseAll() {
+        for (int i = 0; i < size; i++) {
+            BloodBudget.release(budgetKind(i));
+            if (supportColumn[i] != null) {
+                SupportIndex.unregister(supportColumn[i]);
+            }
+        }
+    }
+
+    /**
+     * Add a host if there is none, it died, or the particle manager stopped ticking it.
+     */
+    private static void ensureHost() {
+        if (host != null && host.isAlive() && ticks - hostTickedAt <= HOST_STALE_TICKS) {
+            return;
+        }
+
+        if (host != null) {
+            host.markDead();
+        }
+        host = new BloodEngineParticle(world, sprite[0]);
+        hostTickedAt = ticks;
+        MinecraftClient.getInstance().particleManager.addParticle(host);
+    }
+
+    /**
+     * @return false if the particle died this tick
+     */
+    private static boolean tickOne(int i, BloodRuntimeSettings settings, Random random) {
+        byte f = flags[i];
+
+        if ((f & FOG) != 0 && !settings.underwaterFogEnabled) {
+            revertFromFog(i, settings, random);
+            f = flags[i];
+        }
+
+        if ((f & (FOG | MELTS)) == 0 && (f & CAN_FOG) != 0 && settings.underwaterFogEnabled && isInWater(i)) {
+            if (!transformToFog(i, settings, random)) return false;
+            f = flags[i];
+        }
+
+        if ((f & (FOG | MELTS)) == MELTS && isInWater(i)) {
+            return false;
+        }
+
+        prevX[i] = x[i];
+        prevY[i] = y[i];
+        prevZ[i] = z[i];
+        if (age[i]++ >= maxAge[i]) {
+            return false;
+        }
+
+        if ((f & RESTING) != 0) {
+            if (supportColumn[i].version == supportVersion[i]) {
+                fade(i);
+                return true;
+            }
+
+            // A block changed somewhere in the column: stay put if still supported, otherwise fall
+            leaveRest(i);
+            if (!world.getBlockState(mutable.set(x[i], y[i] - 0.1, z[i])).isAir()) {
+                rest(i);
+                fade(i);
+                return true;
+            }
+            velY[i] = -0.1;
+            f = flags[i];
+        }
+
+        move(i);
+        velX[i] *= PARTICLE_DRAG;
+        velY[i] *= PARTICLE_DRAG;
+        velZ[i] *= PARTICLE_DRAG;
+        boolean collidedBelow = (flags[i] & COLLIDED_BELOW) != 0;
+        if (collidedBelow) {
+            velX[i] *= GROUND_FRICTION;
+            velZ[i] *= GROUND_FRICTION;
+        }
+
+        if ((f & FOG) != 0) {
+            tickFog(i, settings, random);
+            return true;
+        }
+
+        velY[i] -= BASE_GRAVITY * settings.particleGravityMultiplier;
+
+        float drag = BASE_DRAG * settings.particleDragMultiplier;
+        if ((f & CAN_FOG) == 0 && isInWater(i)) {
+            drag = 0.70f;
+        }
+        velX[i] *= drag;
+        velY[i] *= drag;
+        velZ[i] *= drag;
+
+        if (collidedBelow) {
+            if (settings.bloodStainsEnabled && (f & MELTS) == 0 && (f & CAN_FOG) != 0) {
+                spawnBloodStain(i);
+                return false;
+            }
+
+            velX[i] = 0;
+            velY[i] = 0;
+            velZ[i] = 0;
+            rest(i);
+        }
+
+        fade(i);
+        return true;
+    }
+
+    private static void fade(int i) {
+        float lifeFraction = 1.0f - (float) age[i] / maxAge[i];
+        if (lifeFraction < 0.25f) {
+            alpha[i] = lifeFraction / 0.25f;
+        }
+    }
+
+    /**
+     * Come to rest: no more movement or collision until a block in this column changes.
+     */
+    private static void rest(int i) {
+        SupportIndex.Column column = SupportIndex.register(MathHelper.floor(x[i]), MathHelper.floor(z[i]));
+        supportColumn[i] = column;
+        supportVersion[i] = column.version;
+        flags[i] |= RESTING;
+    }
+
+    private static void leaveRest(int i) {
+        SupportIndex.unregister(supportColumn[i]);
+        supportColumn[i] = null;
+        flags[i] &= ~RESTING;
+    }
+
+    /**
+     * Move by the current velocity, stopping at block collision shapes. Vertical first, then the
+     * horizontal axes, like vanilla particles.
+     */
+    private static void move(int i) {
+        flags[i] &= ~COLLIDED_BELOW;
+
+        double px = x[i];
+        double py = y[i];
+        double pz = z[i];
+        double dy = velY[i];
+
+        if (dy < 0) {
+            int top = MathHelper.floor(py);
+            int bottom = MathHelper.floor(py + dy);
+            for (int by = top; by >= bottom; by--) {
+                VoxelShape shape = world.getBlockState(mutable.set(px, by, pz)).getCollisionShape(world, mutable);
+                if (shape.isEmpty()) continue;
+
+                double surface = by + shape.getMax(Direction.Axis.Y);
+                if (surface <= py + 1.0E-7 && surface > py + dy) {
+                    dy = surface - py;
+                    velY[i] = 0;
+                    flags[i] |= COLLIDED_BELOW;
+                    break;
+                }
+            }
+        } else if (dy > 0) {
+            int above = MathHelper.floor(py + dy);
+            if (above != MathHelper.floor(py)) {
+                VoxelShape shape = world.getBlockState(mutable.set(px, above, pz)).getCollisionShape(world, mutable);
+                if (!shape.isEmpty()) {
+                    dy = Math.max(0, above + shape.getMin(Direction.Axis.Y) - py);
+                    velY[i] = 0;
+                }
+            }
+        }
+        py += dy;
+
+        double nx = px + velX[i];
+        if (blocked(nx, py, pz)) {
+            velX[i] = 0;
+        } else {
+            px = nx;
+        }
+
+        double nz = pz + velZ[i];
+        if (blocked(px, py, nz)) {
+            velZ[i] = 0;
+        } else {
+            pz = nz;
+        }
+
+        x[i] = px;
+        y[i] = py;
+        z[i] = pz;
+    }
+
+    private static boolean blocked(double px, double py, double pz) {
+        VoxelShape shape = world.getBlockState(mutable.set(px, py, pz)).getCollisionShape(world, mutable);
+        if (shape.isEmpty()) return false;
+
+        double local = py - mutable.getY();
+        return local >= shape.getMin(Direction.Axis.Y) && local < shape.getMax(Direction.Axis.Y) - 1.0E-7;
+    }
+
+    private static boolean isInWater(int i) {
+        double px = x[i];
+        double py = y[i];
+        double pz = z[i];
+
+        int blockX = MathHelper.floor(px);
+        int blockY = MathHelper.floor(py);
+        int blockZ = MathHelper.floor(pz);
+
+        if (isWater(blockX, blockY, blockZ)) {
+            return true;
+        }
+
+        int nextX = MathHelper.floor(px + velX[i]);
+        int nextY = MathHelper.floor(py + velY[i]);
+        int nextZ = MathHelper.floor(pz + velZ[i]);
+        if ((nextX != blockX || nextY != blockY || nextZ != blockZ) && isWater(nextX, nextY, nextZ)) {
+            return true;
+        }
+
+        double fracX = px - blockX;
+        double fracZ = pz - blockZ;
+
+        if (fracX < 0.1) {
+            if (isWater(blockX - 1, blockY, blockZ)) return true;
+        } else if (fracX > 0.9) {
+            if (isWater(blockX + 1, blockY, blockZ)) return true;
+        }
+
+        if (fracZ < 0.1) {
+            return isWater(blockX, blockY, blockZ - 1);
+        } else if (fracZ > 0.9) {
+            return isWater(blockX, blockY, blockZ + 1);
+        }
+
+        return false;
+    }
+
+    private static boolean isWater(int bx, int by, int bz) {
+        return WaterSectionIndex.isWater(world, bx, by, bz);
+    }
+
+    /**
+     * @return false if there is no fog budget left and the particle should die instead
+     */
+    private static boolean transformToFog(int i, BloodRuntimeSettings settings, Random random) {
+        if (!BloodBudget.admitOne(BloodBudget.Kind.FOG, BloodBudget.Priority.NEAR)) {
+            return false;
+        }
+        BloodBudget.transfer(spawnKind(i), BloodBudget.Kind.FOG);
+
+        if ((flags[i] & RESTING) != 0) {
+            leaveRest(i);
+        }
+        flags[i] |= FOG;
+
+        age[i] = 0;
+        int baseFogLife = FOG_BASE_LIFE + (int)(random.nextFloat() * 20) - 10;
+        maxAge[i] = (int)(baseFogLife * settings.fogLifetimeMultiplier);
+
+        float desaturation = 0.6f;
+        red[i] = BloodColor.red(baseColor[i]) * desaturation + 0.4f * 0.4f;
+        green[i] = BloodColor.green(baseColor[i]) * desaturation + 0.4f * 0.4f;
+        blue[i] = BloodColor.blue(baseColor[i]) * desaturation + 0.4f * 0.4f;
+
+        velX[i] *= 0.1f;
+        velY[i] *= 0.1f;
+        velZ[i] *= 0.1f;
+
+        alpha[i] = 0.5f * settings.fogOpacityMultiplier;
+        return true;
+    }
+
+    private static void revertFromFog(int i, BloodRuntimeSettings settings, Random random) {
+        flags[i] &= ~FOG;
+        BloodBudget.transfer(BloodBudget.Kind.FOG, spawnKind(i));
+
+        red[i] = BloodColor.red(baseColor[i]);
+        green[i] = BloodColor.green(baseColor[i]);
+        blue[i] = BloodColor.blue(baseColor[i]);
+        alpha[i] = 1.0f;
+
+        int baseLifetime = BASE_LIFE + (int)(random.nextFloat() * JITTER * 2) - JITTER;
+        int normalMaxAge = (int)(baseLifetime * settings.particleLifetimeMultiplier);
+        maxAge[i] = age[i] < normalMaxAge ? normalMaxAge : age[i] + 20;
+    }
+
+    private static void tickFog(int i, BloodRuntimeSettings settings, Random random) {
+        velX[i] *= 0.92f;
+        velY[i] *= 0.92f;
+        velZ[i] *= 0.92f;
+
+        velY[i] -= 0.002f;
+
+        velX[i] += (random.nextFloat() - 0.5f) * 0.001f;
+        velZ[i] += (random.nextFloat() - 0.5f) * 0.001f;
+
+        float lifeFraction = 1.0f - (float) age[i] / maxAge[i];
+        alpha[i] = lifeFraction * 0.6f * settings.fogOpacityMultiplier;
+
+        float targetScale = (FOG_MIN_SCALE + random.nextFloat() * (FOG_MAX_SCALE - FOG_MIN_SCALE))
+                * settings.fogScaleMultiplier;
+        if (scale[i] < targetScale) {
+            scale[i] += (targetScale - scale[i]) * 0.01f;
+        }
+    }
+
+    private static void spawnBloodStain(int i) {
+        if (!BloodBudget.admitOne(BloodBudget.Kind.STAIN, BloodBudget.Priority.NEAR)) {
+            return;
+        }
+
+        BloodStainParticle.setCurrentBloodColor(baseColor[i]);
+
+        MinecraftClient.getInstance().particleManager.addParticle(
+                BloodParticles.BLOOD_STAIN,
+                x[i], y[i] + 0.01, z[i],
+                0, 0, 0
+        );
+    }
+
+    /**
+     * The same spread vanilla's Particle constructor gives every particle spawned with a velocity:
+     * jitter each axis, rescale to a random speed and add a little lift. Emitter velocities are
+     * tuned for it.
+     */
+    private static void spreadVelocity(int i, double vx, double vy, double vz, Random random) {
+        vx += (random.nextDouble() * 2.0 - 1.0) * 0.4f;
+        vy += (random.nextDouble() * 2.0 - 1.0) * 0.4f;
+        vz += (random.nextDouble() * 2.0 - 1.0) * 0.4f;
+        double speed = (random.nextDouble() + random.nextDouble() + 1.0) * 0.15f;
+        double length = Math.sqrt(vx * vx + vy * vy + vz * vz);
+        velX[i] = vx / length * speed * 0.4f;
+        velY[i] = vy / length * speed * 0.4f + 0.1f;
+        velZ[i] = vz / length * speed * 0.4f;
+    }
+
+    private static void updateLight(int i) {
+        mutable.set(x[i], y[i], z[i]);
+        light[i] = world.isChunkLoaded(mutable) ? WorldRenderer.getLightmapCoordinates(world, mutable) : 0;
+    }
+
+    private static BloodBudget.Kind spawnKind(int i) {
+        return (flags[i] & SPLASH) != 0 ? BloodBudget.Kind.SPLASH : BloodBudget.Kind.DRIP;
+    }
+
+    private static BloodBudget.Kind budgetKind(int i) {
+        return (flags[i] & FOG) != 0 ? BloodBudget.Kind.FOG : spawnKind(i);
+    }
+
+    private static void remove(int i) {
+        BloodBudget.release(budgetKind(i));
+        if (supportColumn[i] != null) {
+            SupportIndex.unregister(supportColumn[i]);
+        }
+
+        int last = --size;
+        if (i != last) {
+            x[i] = x[last];
+            y[i] = y[last];
+            z[i] = z[last];
+            prevX[i] = prevX[last];
+            prevY[i] = prevY[last];
+            prevZ[i] = prevZ[last];
+            velX[i] = velX[last];
+            velY[i] = velY[last];
+            velZ[i] = velZ[last];
+            baseColor[i] = baseColor[last];
+            red[i] = red[last];
+            green[i] = green[last];
+            blue[i] = blue[last];
+            alpha[i] = alpha[last];
+            scale[i] = scale[last];
+            age[i] = age[last];
+            maxAge[i] = maxAge[last];
+            light[i] = light[last];
+            flags[i] = flags[last];
+            sprite[i] = sprite[last];
+            supportColumn[i] = supportColumn[last];
+            supportVersion[i] = supportVersion[last];
+        }
+        sprite[last] = null;
+        supportColumn[last] = null;
+    }
+
+    private static void grow() {
+        int newCapacity = Math.min(capacity << 1, MAX_CAPACITY);
+        x = Arrays.copyOf(x, newCapacity);
+        y = Arrays.copyOf(y, newCapacity);
+        z = Arrays.copyOf(z, newCapacity);
+        prevX = Arrays.copyOf(prevX, newCapacity);
+        prevY = Arrays.copyOf(prevY, newCapacity);
+        prevZ = Arrays.copyOf(prevZ, newCapacity);
+        velX = Arrays.copyOf(velX, newCapacity);
+        velY = Arrays.copyOf(velY, newCapacity);
+        velZ = Arrays.copyOf(velZ, newCapacity);
+        baseColor = Arrays.copyOf(baseColor, newCapacity);
+        red = Arrays.copyOf(red, newCapacity);
+        green = Arrays.copyOf(green, newCapacity);
+        blue = Arrays.copyOf(blue, newCapacity);
+        alpha = Arrays.copyOf(alpha, newCapacity);
+        scale = Arrays.copyOf(scale, newCapacity);
+        age = Arrays.copyOf(age, newCapacity);
+        maxAge = Arrays.copyOf(maxAge, newCapacity);
+        light = Arrays.copyOf(light, newCapacity);
+        flags = Arrays.copyOf(flags, newCapacity);
+        sprite = Arrays.copyOf(sprite, newCapacity);
+        supportColumn = Arrays.copyOf(supportColumn, newCapacity);
+        supportVersion = Arrays.copyOf(supportVersion, newCapacity);
+        capacity = newCapacity;
+    }
+
+    private static void allocate(int newCapacity) {
+        x = new double[newCapacity];
+        y = new double[newCapacity];
+        z = new double[newCapacity];
+        prevX = new double[newCapacity];
+        prevY = new double[newCapacity];
+        prevZ = new double[newCapacity];
+        velX = new double[newCapacity];
+        velY = new double[newCapacity];
+        velZ = new double[newCapacity];
+        baseColor = new int[newCapacity];
+        red = new float[newCapacity];
+        green = new float[newCapacity];
+        blue = new float[newCapacity];
+        alpha = new float[newCapacity];
+        scale = new float[newCapacity];
+        age = new int[newCapacity];
+        maxAge = new int[newCapacity];
+        light = new int[newCapacity];
+        flags = new byte[newCapacity];
+        sprite = new Sprite[newCapacity];
+        supportColumn = new SupportIndex.Column[newCapacity];
+        supportVersion = new int[newCapacity];
+        capacity = newCapacity;
+    }
+}
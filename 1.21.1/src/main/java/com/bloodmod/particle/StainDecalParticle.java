@@ -0,0 +1,81 @@
+package com.bloodmod.particle;
+
+import net.minecraft.client.particle.ParticleTextureSheet;
+import net.minecraft.client.particle.SpriteBillboardParticle;
+import net.minecraft.client.render.Camera;
+import net.minecraft.client.render.VertexConsumer;
+import net.minecraft.client.texture.Sprite;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.Vec3d;
+
+/**
+ * The one particle the vanilla particle manager sees for all blood stains. It copies each section's
+ * cached decal quads into the translucent particle sheet, offset by the section's position
+ * relative to the camera. It only draws; {@link StainDecals} is ticked from the client tick and
+ * replaces the host if the particle manager stops ticking it. It dies once no stains are left.
+ */
+public class StainDecalParticle extends SpriteBillboardParticle {
+
+    private static final Box EVERYWHERE = new Box(
+            -3.0E7, -2048.0, -3.0E7, 3.0E7, 2048.0, 3.0E7);
+
+    private static final int[][] CORNER_UV = {{1, 3}, {1, 2}, {0, 2}, {0, 3}};
+
+    StainDecalParticle(ClientWorld world, Sprite sprite) {
+        super(world, 0.0, 0.0, 0.0);
+        this.setSprite(sprite);
+        this.collidesWithWorld = false;
+    }
+
+    @Override
+    public void tick() {
+        StainDecals.hostTicked();
+        if (StainDecals.size() == 0) {
+            this.markDead();
+        }
+    }
+
+    @Override
+    public void buildGeometry(VertexConsumer vertexConsumer, Camera camera, float tickDelta) {
+        Vec3d cameraPos = camera.getPos();
+
+        for (StainDecals.Section section : StainDecals.sections()) {
+            float offsetX = (float) (section.originX - cameraPos.x);
+            float offsetY = (float) (section.originY - cameraPos.y);
+            float offsetZ = (float) (section.originZ - cameraPos.z);
+            float[] geometry = section.geometry;
+
+            for (int i = 0; i < section.size; i++) {
+                int g = i * StainDecals.STRIDE;
+                int color = section.color[i];
+                int r = (color >> 16) & 0xFF;
+                int gr = (color >> 8) & 0xFF;
+                int b = color & 0xFF;
+                int a = (int) (StainDecals.alpha(section, i, tickDelta) * 255.0f);
+                int light = section.light[i];
+
+                for (int c = 0; c < 4; c++) {
+                    int p = g + StainDecals.CORNERS + c * 3;
+                    vertexConsumer.vertex(geometry[p] + offsetX, geometry[p + 1] + offsetY, geometry[p + 2] + offsetZ)
+                            .texture(geometry[g + StainDecals.UV + CORNER_UV[c][0]], geometry[g + StainDecals.UV + CORNER_UV[c][1]])
+                            .color(r, gr, b, a)
+                            .light(light);
+                }
+            }
+        }
+    }
+
+    /**
+     * Stains can be anywhere in view, so the host itself must never be frustum culled.
+     */
+    @Override
+    public Box getBoundingBox() {
+        return EVERYWHERE;
+    }
+
+    @Override
+    public ParticleTextureSheet getType() {
+        return ParticleTextureSheet.PARTICLE_SHEET_TRANSLUCENT;
+    }
+}
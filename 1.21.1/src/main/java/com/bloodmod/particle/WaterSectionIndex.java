@@ -0,0 +1,194 @@
+package com.bloodmod.particle;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.WorldChunk;
+
+/**
+ * Answers "is this block water" for blood particles from 4096-bit per-section bitmaps.
+ *
+ * A section's bitmap is built from its block states the first time blood asks about it, and from
+ * then on every water and edge test is a bit lookup. Block updates flip single bits in place
+ * (see {@code WorldMixin}); a section whose chunk is reloaded or unloaded is dropped and rebuilt
+ * on demand. Sections blood has not touched for a while are evicted, so only sections where blood
+ * is active are kept. Only touched from the client thread.
+ */
+public final class WaterSectionIndex {
+
+    /**
+     * Shared bitmap for the common case of a section with no water at all.
+     */
+    private static final long[] NO_WATER = new long[64];
+
+    private static final int EVICT_INTERVAL_TICKS = 100;
+    private static final long EVICT_AFTER_TICKS = 200;
+
+    private static final Long2ObjectOpenHashMap<Section> sections = new Long2ObjectOpenHashMap<>();
+
+    private static long lastKey = Long.MIN_VALUE;
+    private static Section lastSection;
+
+    private static long tick;
+    private static long lookups;
+    private static long builds;
+
+    private WaterSectionIndex() {
+    }
+
+    public static boolean isWater(ClientWorld world, int x, int y, int z) {
+        lookups++;
+
+        long key = ChunkSectionPos.asLong(x >> 4, y >> 4, z >> 4);
+        Section section = key == lastKey ? lastSection : lookup(world, key, x >> 4, y >> 4, z >> 4);
+        if (section == null) {
+            return false;
+        }
+        section.lastUsed = tick;
+
+        int bit = ((y & 15) << 8) | ((z & 15) << 4) | (x & 15);
+        return (section.bits[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    /**
+     * Keep a loaded bitmap in step with a block change on the client world.
+     */
+    public static void onBlockChanged(BlockPos pos, BlockState state) {
+        long key = ChunkSectionPos.asLong(pos.getX() >> 4, pos.getY() >> 4, pos.getZ() >> 4);
+        Section section = sections.get(key);
+        if (section == null) return;
+
+        boolean water = state.isOf(Blocks.WATER);
+        if (section.bits == NO_WATER) {
+            if (water) {
+                drop(key);
+            }
+            return;
+        }
+
+        int bit = ((pos.getY() & 15) << 8) | ((pos.getZ() & 15) << 4) | (pos.getX() & 15);
+        if (water) {
+            section.bits[bit >>> 6] |= 1L << bit;
+        } else {
+            section.bits[bit >>> 6] &= ~(1L << bit);
+        }
+    }
+
+    /**
+     * Drop every bitmap of a chunk column, after it is loaded again or unloaded.
+     */
+    public static void onChunkChanged(int chunkX, int chunkZ) {
+        ObjectIterator<Long2ObjectMap.Entry<Section>> it = sections.long2ObjectEntrySet().fastIterator();
+        while (it.hasNext()) {
+            long key = it.next().getLongKey();
+            if (ChunkSectionPos.unpackX(key) == chunkX && ChunkSectionPos.unpackZ(key) == chunkZ) {
+                it.remove();
+            }
+        }
+        lastKey = Long.MIN_VALUE;
+        lastSection = null;
+    }
+
+    /**
+     * Count a tick and now and then evict sections blood has not touched recently.
+     */
+    public static void nextTick() {
+        if (++tick % EVICT_INTERVAL_TICKS != 0) return;
+
+        ObjectIterator<Long2ObjectMap.Entry<Section>> it = sections.long2ObjectEntrySet().fastIterator();
+        while (it.hasNext()) {
+            if (tick - it.next().getValue().lastUsed > EVICT_AFTER_TICKS) {
+                it.remove();
+            }
+        }
+        lastKey = Long.MIN_VALUE;
+        lastSection = null;
+    }
+
+    public static int size() {
+        return sections.size();
+    }
+
+    public static long lookups() {
+        return lookups;
+    }
+
+    public static long builds() {
+        return builds;
+    }
+
+    public static void clear() {
+        sections.clear();
+        lastKey = Long.MIN_VALUE;
+        lastSection = null;
+    }
+
+    private static Section lookup(ClientWorld world, long key, int sectionX, int sectionY, int sectionZ) {
+        Section section = sections.get(key);
+        if (section == null) {
+            long[] bits = build(world, sectionX, sectionY, sectionZ);
+            if (bits == null) {
+                return null;
+            }
+            section = new Section(bits);
+            sections.put(key, section);
+        }
+
+        lastKey = key;
+        lastSection = section;
+        return section;
+    }
+
+    /**
+     * @return the section's water bitmap, or null if its chunk is not loaded or it is out of the world
+     */
+    private static long[] build(World world, int sectionX, int sectionY, int sectionZ) {
+        if (!world.isChunkLoaded(sectionX, sectionZ)) {
+            return null;
+        }
+
+        WorldChunk chunk = world.getChunk(sectionX, sectionZ);
+        int index = chunk.sectionCoordToIndex(sectionY);
+        if (index < 0 || index >= chunk.getSectionArray().length) {
+            return null;
+        }
+
+        builds++;
+        ChunkSection section = chunk.getSection(index);
+        if (section.isEmpty() || !section.hasAny(state -> state.isOf(Blocks.WATER))) {
+            return NO_WATER;
+        }
+
+        long[] bits = new long[64];
+        for (int bit = 0; bit < 4096; bit++) {
+            if (section.getBlockState(bit & 15, bit >>> 8, (bit >>> 4) & 15).isOf(Blocks.WATER)) {
+                bits[bit >>> 6] |= 1L << bit;
+            }
+        }
+        return bits;
+    }
+
+    private static void drop(long key) {
+        sections.remove(key);
+        if (key == lastKey) {
+            lastKey = Long.MIN_VALUE;
+            lastSection = null;
+        }
+    }
+
+    private static final class Section {
+        final long[] bits;
+        long lastUsed;
+
+        Section(long[] bits) {
+            this.bits = bits;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.bloodmod;
+
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.world.ClientWorld;
+
+/**
+ * Tick source for blood timing such as the damage cooldown.
+ *
+ * Defaults to the client world time, which stops while the game is paused, slows down with the
+ * server under lag and follows replays. Simulation harnesses can install their own clock through
+ * {@link BloodModClient#setClock(BloodClock)} to drive damage streams reproducibly.
+ */
+@FunctionalInterface
+public interface BloodClock {
+
+    BloodClock WORLD_TIME = () -> {
+        ClientWorld world = MinecraftClient.getInstance().world;
+        return world != null ? world.getTime() : 0L;
+    };
+
+    /**
+     * Current time in ticks.
+     */
+    long ticks();
+}
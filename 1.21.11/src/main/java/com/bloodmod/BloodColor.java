@@ -4,7 +4,6 @@ import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.texture.NativeImage;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.mob.CreeperEntity;
-import net.minecraft.registry.Registries;
 import net.minecraft.resource.Resource;
 import net.minecraft.util.Identifier;
 
@@ -13,6 +12,7 @@ import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class BloodColor {
 
@@ -32,144 +32,171 @@ public class BloodColor {
             this.green = ((hex >> 8) & 0xFF) / 255.0f;
             this.blue = (hex & 0xFF) / 255.0f;
         }
+
+        public int toARGB() {
+            return argb(red, green, blue);
+        }
+    }
+
+    /**
+     * Pack an opaque color as 0xAARRGGBB. Blood colors are carried in this form on the hot path.
+     */
+    public static int argb(float red, float green, float blue) {
+        return 0xFF000000
+                | (Math.round(red * 255.0f) << 16)
+                | (Math.round(green * 255.0f) << 8)
+                | Math.round(blue * 255.0f);
     }
 
-    private static final Map<Identifier, Color> creeperColorCache = new HashMap<>();
+    /**
+     * Pack an 0xRRGGBB color as opaque 0xAARRGGBB.
+     */
+    public static int opaque(int rgb) {
+        return 0xFF000000 | (rgb & 0xFFFFFF);
+    }
+
+    public static float red(int argb) {
+        return ((argb >> 16) & 0xFF) / 255.0f;
+    }
+
+    public static float green(int argb) {
+        return ((argb >> 8) & 0xFF) / 255.0f;
+    }
+
+    public static float blue(int argb) {
+        return (argb & 0xFF) / 255.0f;
+    }
+
+    private static final Map<Identifier, Integer> creeperColorCache = new HashMap<>();
 
     private static Method getColorMethod = null;
     private static boolean reflectionAttempted = false;
 
-    private static final Color RED = new Color(0.40f, 0.012f, 0.012f);
+    private static final int RED = argb(0.40f, 0.012f, 0.012f);
 
-    private static final Color BRIGHT_RED = new Color(0.50f, 0.03f, 0.03f);
+    private static final int BRIGHT_RED = argb(0.50f, 0.03f, 0.03f);
 
-    private static final Color DARK_RED = new Color(0.25f, 0.008f, 0.008f);
+    private static final int DARK_RED = argb(0.25f, 0.008f, 0.008f);
 
-    private static final Color PURPLE = new Color(0.45f, 0.10f, 0.45f);
+    private static final int PURPLE = argb(0.45f, 0.10f, 0.45f);
 
-    private static final Color DEEP_PURPLE = new Color(0.20f, 0.08f, 0.30f);
+    private static final int DEEP_PURPLE = argb(0.20f, 0.08f, 0.30f);
 
-    private static final Color GREEN = new Color(0.15f, 0.45f, 0.10f);
+    private static final int GREEN = argb(0.15f, 0.45f, 0.10f);
 
-    private static final Color SLIME_GREEN = new Color(0.30f, 0.70f, 0.20f);
+    private static final int SLIME_GREEN = argb(0.30f, 0.70f, 0.20f);
 
-    private static final Color BLUE = new Color(0.10f, 0.20f, 0.50f);
+    private static final int BLUE = argb(0.10f, 0.20f, 0.50f);
 
-    private static final Color DEEP_BLUE = new Color(0.15f, 0.25f, 0.40f);
+    private static final int DEEP_BLUE = argb(0.15f, 0.25f, 0.40f);
 
-    private static final Color ORANGE = new Color(0.60f, 0.30f, 0.05f);
+    private static final int ORANGE = argb(0.60f, 0.30f, 0.05f);
 
-    private static final Color BRIGHT_ORANGE = new Color(0.90f, 0.50f, 0.10f);
+    private static final int BRIGHT_ORANGE = argb(0.90f, 0.50f, 0.10f);
 
-    private static final Color LAVA = new Color(0.80f, 0.20f, 0.05f);
+    private static final int LAVA = argb(0.80f, 0.20f, 0.05f);
 
-    private static final Color YELLOW = new Color(0.70f, 0.60f, 0.10f);
+    private static final int YELLOW = argb(0.70f, 0.60f, 0.10f);
 
-    private static final Color GRAY = new Color(0.40f, 0.40f, 0.40f);
-    private static final Color LIGHT_GRAY = new Color(0.50f, 0.50f, 0.52f);
+    private static final int GRAY = argb(0.40f, 0.40f, 0.40f);
+    private static final int LIGHT_GRAY = argb(0.50f, 0.50f, 0.52f);
 
-    private static final Color WHITE = new Color(0.85f, 0.85f, 0.85f);
-    private static final Color ICY_WHITE = new Color(0.85f, 0.90f, 0.95f);
+    private static final int WHITE = argb(0.85f, 0.85f, 0.85f);
+    private static final int ICY_WHITE = argb(0.85f, 0.90f, 0.95f);
 
-    private static final Color HAPPY_PINK = new Color(0.95f, 0.75f, 0.85f);
+    private static final int HAPPY_PINK = argb(0.95f, 0.75f, 0.85f);
 
-    private static final Color CYAN = new Color(0.40f, 0.70f, 0.75f);
+    private static final int CYAN = argb(0.40f, 0.70f, 0.75f);
 
-    private static final Color NIGHT_BLUE = new Color(0.15f, 0.20f, 0.35f);
+    private static final int NIGHT_BLUE = argb(0.15f, 0.20f, 0.35f);
 
-    private static final Color POTION_GREEN = new Color(0.25f, 0.35f, 0.15f);
+    private static final int POTION_GREEN = argb(0.25f, 0.35f, 0.15f);
 
-    private static final Color SPIRIT_BLUE = new Color(0.60f, 0.70f, 0.85f);
+    private static final int SPIRIT_BLUE = argb(0.60f, 0.70f, 0.85f);
 
-    private static final Color CREEPER_GREEN = new Color(0.12f, 0.42f, 0.08f);
+    private static final int CREEPER_GREEN = argb(0.12f, 0.42f, 0.08f);
 
-    private static final Color BONE = new Color(0.75f, 0.72f, 0.65f);
+    private static final int BONE = argb(0.75f, 0.72f, 0.65f);
 
-    private static final Color BLACK = new Color(0.08f, 0.08f, 0.08f);
+    private static final int BLACK = argb(0.08f, 0.08f, 0.08f);
 
-    private static final Color COPPER_FRESH = new Color(0.75f, 0.38f, 0.20f);
+    private static final int COPPER_FRESH = argb(0.75f, 0.38f, 0.20f);
 
-    private static final Color COPPER_EXPOSED = new Color(0.65f, 0.42f, 0.32f);
+    private static final int COPPER_EXPOSED = argb(0.65f, 0.42f, 0.32f);
 
-    private static final Color COPPER_WEATHERED = new Color(0.45f, 0.50f, 0.35f);
+    private static final int COPPER_WEATHERED = argb(0.45f, 0.50f, 0.35f);
 
-    private static final Color COPPER_OXIDIZED = new Color(0.30f, 0.55f, 0.40f);
+    private static final int COPPER_OXIDIZED = argb(0.30f, 0.55f, 0.40f);
 
-    private static final Color WOOD_SAP = new Color(0.55f, 0.35f, 0.15f);
+    private static final int WOOD_SAP = argb(0.55f, 0.35f, 0.15f);
 
-    private static final Color DRIED_DUST = new Color(0.60f, 0.52f, 0.40f);
+    private static final int DRIED_DUST = argb(0.60f, 0.52f, 0.40f);
 
-    public static Color getBloodColor(LivingEntity entity) {
-        Identifier id = Registries.ENTITY_TYPE.getId(entity.getType());
-        String entityType = id.getPath();
-        String fullEntityId = id.toString(); 
+    private static final int STRIDER_RED = argb(0.70f, 0.25f, 0.10f);
 
-        if (BloodModAPI.hasCustomSettings(fullEntityId)) {
-            BloodModAPI.BloodSettings apiSettings = BloodModAPI.getEntityBloodSettings(fullEntityId);
-            if (apiSettings != null && apiSettings.getColor() != null) {
-                return addColorVariation(apiSettings.getColor());
-            }
-        }
+    private static final int RAVAGER_RED = argb(0.45f, 0.08f, 0.08f);
 
-        BloodModConfig config = BloodModClient.getConfig();
-        if (config != null && config.moddedEntities.hasCustomSettings(fullEntityId)) {
-            BloodModConfig.ModdedEntities.ModdedEntitySettings moddedSettings =
-                    config.moddedEntities.getSettings(fullEntityId);
-            if (moddedSettings != null && moddedSettings.enabled) {
-                return addColorVariation(moddedSettings.toColor());
-            }
+    /**
+     * Blood color for one burst or drip, as 0xAARRGGBB with a little random variation applied.
+     */
+    public static int getBloodColor(LivingEntity entity) {
+        BloodProfile profile = BloodProfile.of(entity);
+
+        if (profile.overrideColor != BloodProfile.NO_COLOR) {
+            return addColorVariation(profile.overrideColor);
         }
 
+        BloodModConfig config = BloodModClient.getConfig();
         if (config != null && config.bloodColors.enableCustomColors) {
 
-            if (entityType.equals("player") && entity instanceof net.minecraft.entity.player.PlayerEntity) {
-                net.minecraft.client.MinecraftClient client = net.minecraft.client.MinecraftClient.getInstance();
-                boolean isClientPlayer = client.player != null && entity.getUuid().equals(client.player.getUuid());
-
-                int colorInt = isClientPlayer ? config.bloodColors.playerBlood : config.bloodColors.otherPlayersBlood;
-                Color customColor = new Color(colorInt);
-                return addColorVariation(customColor);
+            if (profile.category != BloodCategory.PLAYER) {
+                return addColorVariation(opaque(config.bloodColors.getCategoryColor(profile.category)));
             }
 
-            Color customColor = getCustomColorForEntity(entityType, config);
-            if (customColor != null) {
+            if (entity instanceof net.minecraft.entity.player.PlayerEntity) {
+                boolean isClientPlayer = entity == MinecraftClient.getInstance().player;
 
-                return addColorVariation(customColor);
+                int colorInt = isClientPlayer
+                        ? config.bloodColors.getCategoryColor(BloodCategory.PLAYER)
+                        : config.bloodColors.otherPlayersBlood;
+                return addColorVariation(opaque(colorInt));
             }
         }
 
-        Color baseColor;
+        int baseColor;
 
-        if (entityType.equals("creeper") && entity instanceof CreeperEntity) {
+        if (profile.samplesCreeperTexture && entity instanceof CreeperEntity) {
             baseColor = getCreeperTextureColor(entity);
         }
 
-        else if (entityType.equals("copper_golem")) {
+        else if (profile.agesLikeCopper) {
             baseColor = getCopperGolemColor(entity);
         }
         else {
-            baseColor = getBaseColorForEntity(entityType);
+            baseColor = profile.baseColor;
         }
 
         return addColorVariation(baseColor);
     }
 
-    private static Color getCreeperTextureColor(LivingEntity entity) {
+    private static int getCreeperTextureColor(LivingEntity entity) {
         try {
 
             Identifier textureId = Identifier.of("minecraft", "textures/entity/creeper/creeper.png");
 
-            if (creeperColorCache.containsKey(textureId)) {
-                return creeperColorCache.get(textureId);
+            Integer cachedColor = creeperColorCache.get(textureId);
+            if (cachedColor != null) {
+                return cachedColor;
             }
 
             Color sampledColor = sampleTextureColor(textureId);
 
             if (sampledColor != null) {
-                creeperColorCache.put(textureId, sampledColor);
+                int packedColor = sampledColor.toARGB();
+                creeperColorCache.put(textureId, packedColor);
                 BloodMod.LOGGER.info("Successfully sampled creeper texture! Blood color: R={}, G={}, B={}",
                         sampledColor.red, sampledColor.green, sampledColor.blue);
-                return sampledColor;
+                return packedColor;
             } else {
                 BloodMod.LOGGER.debug("Failed to sample creeper texture, using default green");
             }
@@ -272,7 +299,7 @@ public class BloodColor {
         return null;
     }
 
-    private static Color getCopperGolemColor(LivingEntity entity) {
+    private static int getCopperGolemColor(LivingEntity entity) {
         try {
 
             int age = entity.age;
@@ -297,237 +324,54 @@ public class BloodColor {
         return COPPER_FRESH;
     }
 
-    private static Color getBaseColorForEntity(String entityType) {
-
-        if (entityType.equals("skeleton") || entityType.equals("stray") ||
-                entityType.equals("bogged") || entityType.equals("skeleton_horse")) {
-            return BONE;
-        }
-
-        if (entityType.equals("wither_skeleton")) {
-            return BLACK;
-        }
-
-        if (entityType.equals("parched")) {
-            return DRIED_DUST;
-        }
-
-        if (entityType.equals("zombie") || entityType.equals("zombie_villager") ||
-                entityType.equals("husk") || entityType.equals("drowned") ||
-                entityType.equals("zombie_horse") || entityType.equals("zombified_piglin") ||
-                entityType.equals("zoglin")) {
-            return DARK_RED;
-        }
-
-        if (entityType.equals("enderman") || entityType.equals("endermite") ||
-                entityType.equals("shulker") || entityType.equals("ender_dragon")) {
-            return PURPLE;
-        }
-
-        if (entityType.equals("spider") || entityType.equals("cave_spider")) {
-            return GREEN;
-        }
-
-        if (entityType.equals("slime")) {
-            return SLIME_GREEN;
-        }
-
-        if (entityType.equals("squid") || entityType.equals("glow_squid")) {
-            return BLUE;
-        }
-
-        if (entityType.equals("guardian") || entityType.equals("elder_guardian")) {
-            return DEEP_BLUE;
-        }
-
-        if (entityType.equals("dolphin") || entityType.equals("axolotl")) {
-            return BRIGHT_RED; 
-
-        }
-
-        if (entityType.equals("cod") || entityType.equals("salmon") ||
-                entityType.equals("tropical_fish") || entityType.equals("pufferfish") ||
-                entityType.equals("tadpole")) {
-            return RED;
-        }
-
-        if (entityType.equals("frog")) {
-            return RED;
-        }
-
-        if (entityType.equals("blaze")) {
-            return BRIGHT_ORANGE;
-        }
-
-        if (entityType.equals("magma_cube")) {
-            return LAVA;
-        }
-
-        if (entityType.equals("hoglin") || entityType.equals("piglin") ||
-                entityType.equals("piglin_brute")) {
-            return ORANGE;
-        }
-
-        if (entityType.equals("strider")) {
-            return new Color(0.70f, 0.25f, 0.10f);
-        }
-
-        if (entityType.equals("ghast")) {
-            return WHITE;
-        }
-
-        if (entityType.equals("happy_ghast")) {
-            return WHITE;
-        }
-
-        if (entityType.equals("bee")) {
-            return YELLOW;
-        }
-
-        if (entityType.equals("creeper")) {
-            return CREEPER_GREEN;
-        }
-
-        if (entityType.equals("iron_golem")) {
-            return GRAY;
-        }
-
-        if (entityType.equals("snow_golem")) {
-            return ICY_WHITE;
-        }
-
-        if (entityType.equals("creaking")) {
-            return WOOD_SAP;
-        }
-
-        if (entityType.equals("warden")) {
-            return DEEP_PURPLE;
-        }
-
-        if (entityType.equals("wither")) {
-            return BLACK;
-        }
-
-        if (entityType.equals("breeze")) {
-            return CYAN;
-        }
-
-        if (entityType.equals("phantom")) {
-            return NIGHT_BLUE;
-        }
-
-        if (entityType.equals("vex") || entityType.equals("allay")) {
-            return SPIRIT_BLUE;
-        }
-
-        if (entityType.equals("witch")) {
-            return POTION_GREEN;
-        }
-
-        if (entityType.equals("silverfish")) {
-            return LIGHT_GRAY;
-        }
-
-        if (entityType.equals("ravager")) {
-            return new Color(0.45f, 0.08f, 0.08f);
-        }
-
-        return RED;
+    /**
+     * Default palette color for an entity path. Only called when a {@link BloodProfile} is built.
+     */
+    static int getBaseColorForEntity(String entityType) {
+        return switch (entityType) {
+            case "skeleton", "stray", "bogged", "skeleton_horse" -> BONE;
+            case "wither_skeleton", "wither" -> BLACK;
+            case "parched" -> DRIED_DUST;
+            case "zombie", "zombie_villager", "husk", "drowned",
+                 "zombie_horse", "zombified_piglin", "zoglin" -> DARK_RED;
+            case "enderman", "endermite", "shulker", "ender_dragon" -> PURPLE;
+            case "spider", "cave_spider" -> GREEN;
+            case "slime" -> SLIME_GREEN;
+            case "squid", "glow_squid" -> BLUE;
+            case "guardian", "elder_guardian" -> DEEP_BLUE;
+            case "dolphin", "axolotl" -> BRIGHT_RED;
+            case "blaze" -> BRIGHT_ORANGE;
+            case "magma_cube" -> LAVA;
+            case "hoglin", "piglin", "piglin_brute" -> ORANGE;
+            case "strider" -> STRIDER_RED;
+            case "ghast", "happy_ghast" -> WHITE;
+            case "bee" -> YELLOW;
+            case "creeper" -> CREEPER_GREEN;
+            case "iron_golem" -> GRAY;
+            case "snow_golem" -> ICY_WHITE;
+            case "creaking" -> WOOD_SAP;
+            case "warden" -> DEEP_PURPLE;
+            case "breeze" -> CYAN;
+            case "phantom" -> NIGHT_BLUE;
+            case "vex", "allay" -> SPIRIT_BLUE;
+            case "witch" -> POTION_GREEN;
+            case "silverfish" -> LIGHT_GRAY;
+            case "ravager" -> RAVAGER_RED;
+            default -> RED;
+        };
     }
 
     private static float clamp(float value, float min, float max) {
         return Math.max(min, Math.min(max, value));
     }
 
-    private static Color getCustomColorForEntity(String entityType, BloodModConfig config) {
-        int colorInt = 0;
-        int brightness = 100;
-
-        if (entityType.equals("player")) {
-
-            return null;
-        }
-
-        else if (entityType.equals("zombie") || entityType.equals("zombie_villager") ||
-                entityType.equals("husk") || entityType.equals("drowned") ||
-                entityType.equals("zombie_horse") || entityType.equals("zombified_piglin") ||
-                entityType.equals("zoglin")) {
-            colorInt = config.bloodColors.zombieBlood;
-            brightness = config.bloodColors.zombieBloodBrightness;
-        }
-
-        else if (entityType.equals("skeleton") || entityType.equals("stray") ||
-                entityType.equals("wither_skeleton") || entityType.equals("skeleton_horse")) {
-            colorInt = config.bloodColors.skeletonBlood;
-            brightness = config.bloodColors.skeletonBloodBrightness;
-        }
-
-        else if (entityType.equals("enderman") || entityType.equals("endermite") ||
-                entityType.equals("shulker") || entityType.equals("ender_dragon")) {
-            colorInt = config.bloodColors.endBlood;
-            brightness = config.bloodColors.endBloodBrightness;
-        }
-
-        else if (entityType.equals("spider") || entityType.equals("cave_spider")) {
-            colorInt = config.bloodColors.spiderBlood;
-            brightness = config.bloodColors.spiderBloodBrightness;
-        }
-
-        else if (entityType.equals("slime")) {
-            colorInt = config.bloodColors.slimeBlood;
-            brightness = config.bloodColors.slimeBloodBrightness;
-        }
-
-        else if (entityType.equals("squid") || entityType.equals("glow_squid") ||
-                entityType.equals("guardian") || entityType.equals("elder_guardian")) {
-            colorInt = config.bloodColors.aquaticBlood;
-            brightness = config.bloodColors.aquaticBloodBrightness;
-        }
-
-        else if (entityType.equals("hoglin") || entityType.equals("piglin") ||
-                entityType.equals("piglin_brute") || entityType.equals("strider") ||
-                entityType.equals("magma_cube") || entityType.equals("ghast") ||
-                entityType.equals("happy_ghast")) {
-            colorInt = config.bloodColors.netherBlood;
-            brightness = config.bloodColors.netherBloodBrightness;
-        }
-
-        else if (entityType.equals("blaze")) {
-            colorInt = config.bloodColors.blazeBlood;
-            brightness = config.bloodColors.blazeBloodBrightness;
-        }
-
-        else if (entityType.equals("bee")) {
-            colorInt = config.bloodColors.beeBlood;
-            brightness = config.bloodColors.beeBloodBrightness;
-        }
-
-        else if (entityType.equals("creeper")) {
-            colorInt = config.bloodColors.creeperBlood;
-            brightness = config.bloodColors.creeperBloodBrightness;
-        }
-
-        else if (entityType.equals("iron_golem") || entityType.equals("snow_golem") ||
-                entityType.equals("copper_golem")) {
-            colorInt = config.bloodColors.golemBlood;
-            brightness = config.bloodColors.golemBloodBrightness;
-        }
-
-        else {
-            colorInt = config.bloodColors.defaultBlood;
-            brightness = config.bloodColors.defaultBloodBrightness;
-        }
-
-        return config.bloodColors.intToColor(colorInt, brightness);
-    }
-
-    private static Color addColorVariation(Color baseColor) {
+    private static int addColorVariation(int baseColor) {
         float variance = 0.10f;
-        java.util.Random random = new java.util.Random();
-        float red = clamp(baseColor.red * (1.0f + (random.nextFloat() * 2 - 1) * variance), 0.0f, 1.0f);
-        float green = clamp(baseColor.green * (1.0f + (random.nextFloat() * 2 - 1) * variance), 0.0f, 1.0f);
-        float blue = clamp(baseColor.blue * (1.0f + (random.nextFloat() * 2 - 1) * variance), 0.0f, 1.0f);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        float red = clamp(red(baseColor) * (1.0f + (random.nextFloat() * 2 - 1) * variance), 0.0f, 1.0f);
+        float green = clamp(green(baseColor) * (1.0f + (random.nextFloat() * 2 - 1) * variance), 0.0f, 1.0f);
+        float blue = clamp(blue(baseColor) * (1.0f + (random.nextFloat() * 2 - 1) * variance), 0.0f, 1.0f);
 
-        return new Color(red, green, blue);
+        return argb(red, green, blue);
     }
 }
\ No newline at end of file
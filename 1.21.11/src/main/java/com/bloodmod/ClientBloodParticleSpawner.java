@@ -1,6 +1,5 @@
 package com.bloodmod;
 
-import com.bloodmod.particle.BloodParticle;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.world.ClientWorld;
 import net.minecraft.entity.LivingEntity;
@@ -13,13 +12,9 @@ public class ClientBloodParticleSpawner {
 
         BloodModConfig config = BloodModClient.getConfig();
 
-        BloodColor.Color bloodColor = BloodColor.getBloodColor(entity);
-        BloodParticle.setCurrentBloodColor(bloodColor);
+        BloodProfile profile = BloodProfile.of(entity);
 
-        boolean canTransform = BloodMod.shouldEntityTransformToStains(entity) && BloodMod.shouldEntityDripAtLowHealth(entity);
-        BloodParticle.setShouldTransformToFog(canTransform);
-
-        BloodParticle.setShouldDespawnInWater(shouldParticlesDespawnInWater(entity));
+        EmissionQueue.begin(BloodColor.getBloodColor(entity), profile);
 
         double posX = entity.getX();
         double posY = entity.getY() + entity.getHeight() * 0.5;
@@ -29,12 +24,17 @@ public class ClientBloodParticleSpawner {
 
         float sizeFactor = entity.getWidth(); 
 
-        float intensityMult = config.deathIntensityMultiplier();
+        float intensityMult = config.deathIntensityMultiplier() * QualityGovernor.scale();
         float spreadMult = config.deathSpreadMultiplier();
 
-        int dripCount   = (int)(30 * sizeFactor * intensityMult); 
+        float cullScale = BloodCulling.emissionScale(entity);
+        BloodBudget.Priority priority = BloodBudget.Priority.of(entity);
+
+        int dripCount   = BloodBudget.admit(BloodBudget.Kind.DRIP,
+                BloodCulling.scaleCount((int)(30 * sizeFactor * intensityMult), cullScale, world.random), priority); 
 
-        int splashCount = (int)(25 * sizeFactor * intensityMult); 
+        int splashCount = BloodBudget.admit(BloodBudget.Kind.SPLASH,
+                BloodCulling.scaleCount((int)(25 * sizeFactor * intensityMult), cullScale, world.random), priority); 
 
         if (!entityIsUnderwater) {
             playBloodSound(world, posX, posY, posZ, sizeFactor);
@@ -51,8 +51,8 @@ public class ClientBloodParticleSpawner {
             double velY = (-0.5 - world.random.nextDouble() * 1.5) * velocityAdjust;
             double velZ = (world.random.nextDouble() - 0.5) * 0.4 * spreadMult;
 
-            MinecraftClient.getInstance().particleManager.addParticle(
-                    BloodParticles.BLOOD_DRIP,
+            EmissionQueue.emit(
+                    BloodBudget.Kind.DRIP,
                     posX + offsetX, posY + offsetY, posZ + offsetZ,
                     velX, velY, velZ
             );
@@ -71,95 +71,178 @@ public class ClientBloodParticleSpawner {
             double velY = (-0.2 - world.random.nextDouble() * 0.6) * velocityAdjust;
             double velZ = Math.sin(angle) * speed;
 
-            MinecraftClient.getInstance().particleManager.addParticle(
-                    BloodParticles.BLOOD_SPLASH,
+            EmissionQueue.emit(
+                    BloodBudget.Kind.SPLASH,
                     posX + offsetX, posY + offsetY, posZ + offsetZ,
                     velX, velY, velZ
             );
         }
     }
 
+    /**
+     * One-in-N odds per tick that a low-health entity drips, or 0 if it is above the threshold.
+     * The drip scheduler draws each entity's next drip tick from these odds.
+     */
+    public static int lowHealthDripChance(float healthPercent, float threshold, float frequencyMultiplier) {
+        if (healthPercent > threshold) {
+            return 0;
+        }
+
+        float frequentTier = threshold * 0.5f; 
+
+        int baseChance = healthPercent < frequentTier ? 6 : 10;
+        int chance = (int)(baseChance / frequencyMultiplier);
+        return Math.max(1, chance); 
+    }
+
+    /**
+     * Roll this tick's drip odds for one entity and emit a drip if they hit. Kept for addons
+     * written against the old per-tick API.
+     *
+     * @deprecated drips are scheduled by {@link LowHealthIndex}; use {@link #spawnLowHealthDrip}
+     */
+    @Deprecated
     public static void spawnBloodForLowHealth(ClientWorld world, LivingEntity entity, BloodModConfig config) {
+        int chance = lowHealthDripChance(entity.getHealth() / entity.getMaxHealth(),
+                config.lowHealthThreshold(), config.dripFrequencyMultiplier());
+        if (chance > 0 && world.random.nextInt(chance) == 0) {
+            spawnLowHealthDrip(world, entity, config);
+        }
+    }
+
+    /**
+     * Emit one low-health drip. Called by the drip scheduler on the entity's due tick.
+     */
+    public static void spawnLowHealthDrip(ClientWorld world, LivingEntity entity, BloodModConfig config) {
         float healthPercent = entity.getHealth() / entity.getMaxHealth();
         float threshold = config.lowHealthThreshold();
 
-        if (healthPercent > threshold) {
+        float cullScale = BloodCulling.emissionScale(entity);
+        if (cullScale <= 0.0f) {
             return;
         }
 
-        BloodColor.Color bloodColor = BloodColor.getBloodColor(entity);
-        BloodParticle.setCurrentBloodColor(bloodColor);
-
-        boolean canTransform = BloodMod.shouldEntityTransformToStains(entity) && BloodMod.shouldEntityDripAtLowHealth(entity);
-        BloodParticle.setShouldTransformToFog(canTransform);
+        BloodProfile profile = BloodProfile.of(entity);
 
-        BloodParticle.setShouldDespawnInWater(shouldParticlesDespawnInWater(entity));
+        EmissionQueue.begin(BloodColor.getBloodColor(entity), profile);
 
         float frequentTier = threshold * 0.5f; 
 
         float splashTier   = threshold * 0.3f; 
 
-        int baseChance = healthPercent < frequentTier ? 6 : 10;
-        int chance = (int)(baseChance / config.dripFrequencyMultiplier());
-        chance = Math.max(1, chance); 
+        double posX = entity.getX();
+        double posY = entity.getY() + entity.getHeight() * 0.6;
+        double posZ = entity.getZ();
 
-        if (world.random.nextInt(chance) == 0) {
-            double posX = entity.getX();
-            double posY = entity.getY() + entity.getHeight() * 0.6;
-            double posZ = entity.getZ();
+        boolean entityIsUnderwater = isEntityInWater(entity);
 
-            boolean entityIsUnderwater = isEntityInWater(entity);
+        if (world.random.nextInt(5) == 0 && !entityIsUnderwater) {
+            playBloodSound(world, posX, posY, posZ, 0.3f);
+        }
 
-            if (world.random.nextInt(5) == 0 && !entityIsUnderwater) {
-                playBloodSound(world, posX, posY, posZ, 0.3f);
-            }
+        float velocityAdjust = entityIsUnderwater ? 0.4f : 1.0f;
+
+        int baseDripCount = healthPercent < frequentTier ? 3 : 2;
+        BloodBudget.Priority priority = BloodBudget.Priority.of(entity);
+        float intensityMult = config.dripIntensityMultiplier() * QualityGovernor.scale();
+        int dripCount = BloodBudget.admit(BloodBudget.Kind.DRIP,
+                BloodCulling.scaleCount((int)(baseDripCount * intensityMult), cullScale, world.random), priority);
+
+        for (int i = 0; i < dripCount; i++) {
+            double offsetX = (world.random.nextDouble() - 0.5) * entity.getWidth() * 0.8;
+            double offsetY = (world.random.nextDouble() - 0.5) * 0.2;
+            double offsetZ = (world.random.nextDouble() - 0.5) * entity.getWidth() * 0.8;
+
+            double velX = (world.random.nextDouble() - 0.5) * 0.1;
+            double velY = (-1.5 - world.random.nextDouble() * 0.5) * velocityAdjust;
+            double velZ = (world.random.nextDouble() - 0.5) * 0.1;
+
+            EmissionQueue.emit(
+                    BloodBudget.Kind.DRIP,
+                    posX + offsetX,
+                    posY + offsetY,
+                    posZ + offsetZ,
+                    velX, velY, velZ
+            );
+        }
 
-            float velocityAdjust = entityIsUnderwater ? 0.4f : 1.0f;
+        if (healthPercent < splashTier) {
+            int baseSplashCount = world.random.nextInt(2) + 1; 
 
-            int baseDripCount = healthPercent < frequentTier ? 3 : 2;
-            int dripCount = (int)(baseDripCount * config.dripIntensityMultiplier());
+            int splashCount = BloodBudget.admit(BloodBudget.Kind.SPLASH,
+                    BloodCulling.scaleCount((int)(baseSplashCount * intensityMult), cullScale, world.random), priority);
 
-            for (int i = 0; i < dripCount; i++) {
-                double offsetX = (world.random.nextDouble() - 0.5) * entity.getWidth() * 0.8;
-                double offsetY = (world.random.nextDouble() - 0.5) * 0.2;
-                double offsetZ = (world.random.nextDouble() - 0.5) * entity.getWidth() * 0.8;
+            for (int i = 0; i < splashCount; i++) {
+                double offsetX = (world.random.nextDouble() - 0.5) * entity.getWidth() * 0.6;
+                double offsetZ = (world.random.nextDouble() - 0.5) * entity.getWidth() * 0.6;
 
-                double velX = (world.random.nextDouble() - 0.5) * 0.1;
-                double velY = (-1.5 - world.random.nextDouble() * 0.5) * velocityAdjust;
-                double velZ = (world.random.nextDouble() - 0.5) * 0.1;
+                double velX = (world.random.nextDouble() - 0.5) * 0.15;
+                double velZ = (world.random.nextDouble() - 0.5) * 0.15;
 
-                MinecraftClient.getInstance().particleManager.addParticle(
-                        BloodParticles.BLOOD_DRIP,
+                EmissionQueue.emit(
+                        BloodBudget.Kind.SPLASH,
                         posX + offsetX,
-                        posY + offsetY,
+                        posY - 0.1,
                         posZ + offsetZ,
-                        velX, velY, velZ
+                        velX,
+                        (-1.2 - world.random.nextDouble() * 0.4) * velocityAdjust,
+                        velZ
                 );
             }
+        }
+    }
+
+    /**
+     * One burst standing in for several deaths collected by {@link CrowdAggregator}.
+     * Uses the death burst's per-death counts, capped at {@code particleCap} in total, and plays one sound.
+     */
+    public static void spawnCrowdDeaths(ClientWorld world, double posX, double posY, double posZ,
+                                        float width, int deaths, int particleCap, int color, BloodProfile profile) {
+        BloodModConfig config = BloodModClient.getConfig();
 
-            if (healthPercent < splashTier) {
-                int baseSplashCount = world.random.nextInt(2) + 1; 
+        EmissionQueue.begin(color, profile);
 
-                int splashCount = (int)(baseSplashCount * config.dripIntensityMultiplier());
+        float intensityMult = config.deathIntensityMultiplier() * QualityGovernor.scale();
+        float spreadMult = config.deathSpreadMultiplier();
+        float radius = (width * 1.2f + 0.5f) * spreadMult;
 
-                for (int i = 0; i < splashCount; i++) {
-                    double offsetX = (world.random.nextDouble() - 0.5) * entity.getWidth() * 0.6;
-                    double offsetZ = (world.random.nextDouble() - 0.5) * entity.getWidth() * 0.6;
+        playBloodSound(world, posX, posY, posZ, Math.min(width * 2.0f, 2.0f));
 
-                    double velX = (world.random.nextDouble() - 0.5) * 0.15;
-                    double velZ = (world.random.nextDouble() - 0.5) * 0.15;
+        float cullScale = BloodCulling.emissionScale(posX, posY, posZ, radius + 1.0);
+        BloodBudget.Priority priority = BloodBudget.Priority.at(posX, posY, posZ);
 
-                    MinecraftClient.getInstance().particleManager.addParticle(
-                            BloodParticles.BLOOD_SPLASH,
-                            posX + offsetX,
-                            posY - 0.1,
-                            posZ + offsetZ,
-                            velX,
-                            (-1.2 - world.random.nextDouble() * 0.4) * velocityAdjust,
-                            velZ
-                    );
-                }
-            }
+        int requested = Math.min((int)(55 * width * intensityMult * deaths), particleCap);
+        int dripCount = BloodBudget.admit(BloodBudget.Kind.DRIP,
+                BloodCulling.scaleCount(requested / 2, cullScale, world.random), priority);
+        int splashCount = BloodBudget.admit(BloodBudget.Kind.SPLASH,
+                BloodCulling.scaleCount(requested - requested / 2, cullScale, world.random), priority);
+
+        for (int i = 0; i < dripCount; i++) {
+            double offsetX = (world.random.nextDouble() - 0.5) * 2.0 * radius;
+            double offsetY = (world.random.nextDouble() - 0.5) * 0.8;
+            double offsetZ = (world.random.nextDouble() - 0.5) * 2.0 * radius;
+
+            EmissionQueue.emit(
+                    BloodBudget.Kind.DRIP,
+                    posX + offsetX, posY + offsetY, posZ + offsetZ,
+                    (world.random.nextDouble() - 0.5) * 0.4 * spreadMult,
+                    -0.5 - world.random.nextDouble() * 1.5,
+                    (world.random.nextDouble() - 0.5) * 0.4 * spreadMult
+            );
+        }
+
+        for (int i = 0; i < splashCount; i++) {
+            double angle = world.random.nextDouble() * Math.PI * 2;
+            double distance = world.random.nextDouble() * radius;
+            double speed = (0.3 + world.random.nextDouble() * 0.4) * spreadMult;
+
+            EmissionQueue.emit(
+                    BloodBudget.Kind.SPLASH,
+                    posX + Math.cos(angle) * distance, posY, posZ + Math.sin(angle) * distance,
+                    Math.cos(angle) * speed,
+                    -0.2 - world.random.nextDouble() * 0.6,
+                    Math.sin(angle) * speed
+            );
         }
     }
 
@@ -195,11 +278,4 @@ public class ClientBloodParticleSpawner {
                 )
         );
     }
-
-    private static boolean shouldParticlesDespawnInWater(LivingEntity entity) {
-        net.minecraft.util.Identifier id = net.minecraft.registry.Registries.ENTITY_TYPE.getId(entity.getType());
-        String entityType = id.getPath();
-
-        return entityType.equals("snow_golem");
-    }
 }
\ No newline at end of file
@@ -0,0 +1,153 @@
+package com.bloodmod;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+
+import java.util.ArrayDeque;
+
+/**
+ * Crowd mode: folds deaths in dense spots, such as mob farm kill chambers, into one shared effect.
+ *
+ * Recent deaths are counted in a spatial hash of {@link #CELL_SIZE}-block cells. While a cell has
+ * seen more deaths than the configured threshold within {@link #WINDOW_TICKS}, further deaths there
+ * are not spawned individually; they are collected and emitted every {@link #FLUSH_INTERVAL_TICKS}
+ * as a single burst with a bounded particle count and one sound. Cells are pooled and recycled
+ * once they go quiet. Only touched from the client thread.
+ */
+public final class CrowdAggregator {
+
+    private static final int CELL_SIZE = 4;
+    private static final long WINDOW_TICKS = 40;
+    private static final long FLUSH_INTERVAL_TICKS = 10;
+
+    private static final Long2ObjectOpenHashMap<Cell> cells = new Long2ObjectOpenHashMap<>();
+    private static final ArrayDeque<Cell> pool = new ArrayDeque<>();
+
+    private static long absorbedDeaths;
+
+    private CrowdAggregator() {
+    }
+
+    /**
+     * Record a death. Returns true if it was absorbed into a crowd effect and must not be
+     * spawned individually.
+     */
+    public static boolean absorb(LivingEntity entity) {
+        BloodRuntimeSettings settings = BloodModConfig.runtime();
+        if (!settings.crowdModeEnabled) {
+            return false;
+        }
+
+        long now = BloodModClient.getClock().ticks();
+        long key = BlockPos.asLong(
+                Math.floorDiv(MathHelper.floor(entity.getX()), CELL_SIZE),
+                Math.floorDiv(MathHelper.floor(entity.getY()), CELL_SIZE),
+                Math.floorDiv(MathHelper.floor(entity.getZ()), CELL_SIZE));
+
+        Cell cell = cells.get(key);
+        if (cell == null) {
+            cell = pool.isEmpty() ? new Cell() : pool.pop();
+            cell.reset(now);
+            cells.put(key, cell);
+        }
+
+        if (now - cell.windowStart > WINDOW_TICKS) {
+            cell.windowStart = now;
+            cell.recentDeaths = 0;
+        }
+        cell.recentDeaths++;
+        cell.lastDeathTick = now;
+
+        if (cell.recentDeaths <= settings.crowdDeathThreshold) {
+            return false;
+        }
+
+        if (cell.pendingDeaths == 0) {
+            cell.sumX = cell.sumY = cell.sumZ = 0;
+            cell.sumWidth = 0;
+        }
+        cell.pendingDeaths++;
+        cell.sumX += entity.getX();
+        cell.sumY += entity.getY() + entity.getHeight() * 0.5;
+        cell.sumZ += entity.getZ();
+        cell.sumWidth += entity.getWidth();
+        cell.color = BloodColor.getBloodColor(entity);
+        cell.profile = BloodProfile.of(entity);
+
+        absorbedDeaths++;
+        return true;
+    }
+
+    /**
+     * Emit due crowd effects and recycle quiet cells. Called once per client tick.
+     */
+    public static void tick(ClientWorld world) {
+        if (cells.isEmpty()) return;
+
+        long now = BloodModClient.getClock().ticks();
+        int particleCap = BloodModConfig.runtime().crowdParticleCap;
+
+        ObjectIterator<Long2ObjectMap.Entry<Cell>> it = cells.long2ObjectEntrySet().fastIterator();
+        while (it.hasNext()) {
+            Cell cell = it.next().getValue();
+
+            if (cell.pendingDeaths > 0 && now - cell.lastFlush >= FLUSH_INTERVAL_TICKS) {
+                int deaths = cell.pendingDeaths;
+                ClientBloodParticleSpawner.spawnCrowdDeaths(world,
+                        cell.sumX / deaths, cell.sumY / deaths, cell.sumZ / deaths,
+                        (float) (cell.sumWidth / deaths), deaths, particleCap, cell.color, cell.profile);
+                cell.pendingDeaths = 0;
+                cell.lastFlush = now;
+            }
+
+            if (cell.pendingDeaths == 0 && now - cell.lastDeathTick > WINDOW_TICKS) {
+                it.remove();
+                cell.profile = null;
+                pool.push(cell);
+            }
+        }
+    }
+
+    public static int activeCells() {
+        return cells.size();
+    }
+
+    public static long absorbedDeaths() {
+        return absorbedDeaths;
+    }
+
+    public static void clear() {
+        for (Cell cell : cells.values()) {
+            cell.profile = null;
+            pool.push(cell);
+        }
+        cells.clear();
+    }
+
+    private static final class Cell {
+        long windowStart;
+        long lastDeathTick;
+        long lastFlush;
+        int recentDeaths;
+
+        int pendingDeaths;
+        double sumX, sumY, sumZ;
+        double sumWidth;
+        int color;
+        BloodProfile profile;
+
+        void reset(long now) {
+            windowStart = now;
+            lastDeathTick = now;
+            lastFlush = now;
+            recentDeaths = 0;
+            pendingDeaths = 0;
+            profile = null;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.bloodmod;
+
+import com.bloodmod.particle.BloodParticle;
+import net.minecraft.client.MinecraftClient;
+
+import java.util.Arrays;
+
+/**
+ * Every blood drip and splash is spawned through here, so one death burst cannot add hundreds of
+ * particles in a single frame.
+ *
+ * Up to {@link BloodRuntimeSettings#maxSpawnsPerTick} particles are spawned per client tick. The
+ * rest wait in a FIFO ring and spill into the following ticks, oldest first. Anything that has
+ * waited longer than {@link BloodRuntimeSettings#maxEmissionDelayTicks} is dropped instead, since
+ * blood showing up that late no longer matches the hit. Queued particles hold their budget slot
+ * until they are spawned or dropped. Only touched from the client thread.
+ */
+public final class EmissionQueue {
+
+    private static final int FLAG_TRANSFORM_TO_FOG = 1;
+    private static final int FLAG_DESPAWN_IN_WATER = 2;
+
+    private static int capacity = 1024;
+    private static int mask = capacity - 1;
+    private static BloodBudget.Kind[] kind = new BloodBudget.Kind[capacity];
+    private static double[] pos = new double[capacity * 6];
+    private static int[] color = new int[capacity];
+    private static byte[] flags = new byte[capacity];
+    private static long[] enqueuedAt = new long[capacity];
+    private static int head;
+    private static int size;
+
+    private static int currentColor = BloodColor.argb(0.55f, 0.03f, 0.03f);
+    private static byte currentFlags = FLAG_TRANSFORM_TO_FOG;
+
+    private static int spawnedThisTick;
+    private static long deferred;
+    private static long expired;
+
+    private EmissionQueue() {
+    }
+
+    /**
+     * Colour and behaviour for the particles emitted after this call, until the next call.
+     */
+    public static void begin(int argb, BloodProfile profile) {
+        currentColor = argb;
+        currentFlags = (byte) ((profile.transformsToStains() ? FLAG_TRANSFORM_TO_FOG : 0)
+                | (profile.meltsInWater ? FLAG_DESPAWN_IN_WATER : 0));
+    }
+
+    /**
+     * Spawn a drip or splash now if this tick's ceiling allows, otherwise queue it. The caller must
+     * already have admitted it through {@link BloodBudget}.
+     */
+    public static void emit(BloodBudget.Kind particleKind,
+                            double x, double y, double z,
+                            double velX, double velY, double velZ) {
+        if (size == 0 && spawnedThisTick < BloodModConfig.runtime().maxSpawnsPerTick) {
+            spawn(particleKind, x, y, z, velX, velY, velZ, currentColor, currentFlags);
+            return;
+        }
+
+        if (size == capacity) {
+            grow();
+        }
+
+        int slot = (head + size) & mask;
+        kind[slot] = particleKind;
+        int p = slot * 6;
+        pos[p] = x;
+        pos[p + 1] = y;
+        pos[p + 2] = z;
+        pos[p + 3] = velX;
+        pos[p + 4] = velY;
+        pos[p + 5] = velZ;
+        color[slot] = currentColor;
+        flags[slot] = currentFlags;
+        enqueuedAt[slot] = BloodModClient.getClock().ticks();
+        size++;
+
+        BloodBudget.reserve(particleKind);
+        deferred++;
+    }
+
+    /**
+     * Start a new tick: drop what has waited too long and spawn the backlog up to the ceiling.
+     * Called before anything else emits this tick.
+     */
+    public static void tick() {
+        spawnedThisTick = 0;
+        if (size == 0) return;
+
+        BloodRuntimeSettings settings = BloodModConfig.runtime();
+        long oldestAllowed = BloodModClient.getClock().ticks() - settings.maxEmissionDelayTicks;
+
+        while (size > 0 && spawnedThisTick < settings.maxSpawnsPerTick) {
+            int slot = head;
+            BloodBudget.Kind particleKind = kind[slot];
+            kind[slot] = null;
+            head = (head + 1) & mask;
+            size--;
+            BloodBudget.unreserve(particleKind);
+
+            if (enqueuedAt[slot] < oldestAllowed) {
+                expired++;
+                continue;
+            }
+
+            int p = slot * 6;
+            spawn(particleKind, pos[p], pos[p + 1], pos[p + 2], pos[p + 3], pos[p + 4], pos[p + 5],
+                    color[slot], flags[slot]);
+        }
+    }
+
+    public static int size() {
+        return size;
+    }
+
+    public static long deferred() {
+        return deferred;
+    }
+
+    public static long expired() {
+        return expired;
+    }
+
+    public static void clear() {
+        Arrays.fill(kind, null);
+        head = 0;
+        size = 0;
+        spawnedThisTick = 0;
+    }
+
+    private static void spawn(BloodBudget.Kind particleKind,
+                              double x, double y, double z,
+                              double velX, double velY, double velZ,
+                              int argb, byte particleFlags) {
+        BloodParticle.setCurrentBloodColor(argb);
+        BloodParticle.setShouldTransformToFog((particleFlags & FLAG_TRANSFORM_TO_FOG) != 0);
+        BloodParticle.setShouldDespawnInWater((particleFlags & FLAG_DESPAWN_IN_WATER) != 0);
+
+        MinecraftClient.getInstance().particleManager.addParticle(
+                particleKind == BloodBudget.Kind.SPLASH ? BloodParticles.BLOOD_SPLASH : BloodParticles.BLOOD_DRIP,
+                x, y, z, velX, velY, velZ);
+        spawnedThisTick++;
+    }
+
+    private static void grow() {
+        int newCapacity = capacity << 1;
+        BloodBudget.Kind[] newKind = new BloodBudget.Kind[newCapacity];
+        double[] newPos = new double[newCapacity * 6];
+        int[] newColor = new int[newCapacity];
+        byte[] newFlags = new byte[newCapacity];
+        long[] newEnqueuedAt = new long[newCapacity];
+
+        for (int i = 0; i < size; i++) {
+            int slot = (head + i) & mask;
+            newKind[i] = kind[slot];
+            System.arraycopy(pos, slot * 6, newPos, i * 6, 6);
+            newColor[i] = color[slot];
+            newFlags[i] = flags[slot];
+            newEnqueuedAt[i] = enqueuedAt[slot];
+        }
+
+        kind = newKind;
+        pos = newPos;
+        color = newColor;
+        flags = newFlags;
+        enqueuedAt = newEnqueuedAt;
+        capacity = newCapacity;
+        mask = newCapacity - 1;
+        head = 0;
+    }
+}
@@ -0,0 +1,185 @@
+package com.bloodmod;
+
+import java.util.Arrays;
+
+/**
+ * Last known health and last damage time per entity id, without boxing.
+ *
+ * Linear-probing open addressing over parallel primitive arrays. Removal shifts the following
+ * entries of the probe run back instead of leaving tombstones, so lookups never slow down as
+ * entities come and go. Lookups, updates and removals never allocate; only an insert that takes
+ * the table past three quarters full does, by doubling the arrays. Not thread safe; only touched
+ * from the client thread.
+ */
+public final class EntityDamageTracker {
+
+    /**
+     * Returned by {@link #lastDamageTime(int)} for entities that were never damaged.
+     */
+    public static final long NEVER = Long.MIN_VALUE;
+
+    /**
+     * Marks a free slot. Entity ids come from an incrementing counter and never reach it.
+     */
+    private static final int FREE = Integer.MIN_VALUE;
+
+    private static final int MIN_CAPACITY = 64;
+
+    private int[] keys;
+    private float[] health;
+    private long[] lastDamage;
+    private int mask;
+    private int size;
+    private int resizeAt;
+
+    public EntityDamageTracker() {
+        allocate(MIN_CAPACITY);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Last recorded health, or NaN if the entity is not tracked.
+     */
+    public float health(int entityId) {
+        int slot = find(entityId);
+        return slot < 0 ? Float.NaN : health[slot];
+    }
+
+    /**
+     * Tick of the last recorded damage, or {@link #NEVER}.
+     */
+    public long lastDamageTime(int entityId) {
+        int slot = find(entityId);
+        return slot < 0 ? NEVER : lastDamage[slot];
+    }
+
+    public void putHealth(int entityId, float value) {
+        int slot = insert(entityId);
+        if (slot >= 0) {
+            health[slot] = value;
+        }
+    }
+
+    public void recordDamage(int entityId, float value, long time) {
+        int slot = insert(entityId);
+        if (slot >= 0) {
+            health[slot] = value;
+            lastDamage[slot] = time;
+        }
+    }
+
+    /**
+     * @return whether the entity was tracked
+     */
+    public boolean remove(int entityId) {
+        int slot = find(entityId);
+        if (slot < 0) {
+            return false;
+        }
+
+        // Backward shift: pull later entries of the run into the hole while they would still be reachable
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (keys[next] != FREE) {
+            int home = home(keys[next]);
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                health[hole] = health[next];
+                lastDamage[hole] = lastDamage[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[hole] = FREE;
+        size--;
+        return true;
+    }
+
+    public void clear() {
+        if (keys.length > MIN_CAPACITY) {
+            allocate(MIN_CAPACITY);
+        } else {
+            Arrays.fill(keys, FREE);
+        }
+        size = 0;
+    }
+
+    private int find(int entityId) {
+        if (entityId == FREE) {
+            return -1;
+        }
+
+        int slot = home(entityId);
+        int key;
+        while ((key = keys[slot]) != FREE) {
+            if (key == entityId) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int insert(int entityId) {
+        if (entityId == FREE) {
+            return -1;
+        }
+
+        int slot = home(entityId);
+        int key;
+        while ((key = keys[slot]) != FREE) {
+            if (key == entityId) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        if (size >= resizeAt) {
+            grow();
+            return insert(entityId);
+        }
+
+        keys[slot] = entityId;
+        health[slot] = Float.NaN;
+        lastDamage[slot] = NEVER;
+        size++;
+        return slot;
+    }
+
+    private int home(int key) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        float[] oldHealth = health;
+        long[] oldLastDamage = lastDamage;
+
+        allocate(oldKeys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            int key = oldKeys[i];
+            if (key == FREE) continue;
+
+            int slot = home(key);
+            while (keys[slot] != FREE) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            health[slot] = oldHealth[i];
+            lastDamage[slot] = oldLastDamage[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        Arrays.fill(keys, FREE);
+        health = new float[capacity];
+        lastDamage = new long[capacity];
+        mask = capacity - 1;
+        resizeAt = capacity * 3 / 4;
+    }
+}
@@ -0,0 +1,178 @@
+package com.bloodmod;
+
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.LivingEntity;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Living entities currently at or below the low-health threshold, so the drip pass does not have
+ * to walk every loaded entity.
+ *
+ * Kept up to date from health updates in the living entity mixin and from entity unloads.
+ * Entities are stored densely and removed by swapping the last entry into the hole.
+ *
+ * Instead of rolling the per-tick drip odds for every entity, each one gets its next drip tick
+ * drawn from the matching geometric distribution and filed in a {@link DripWheel}. Only entities
+ * that are due are visited. Health changes re-draw the tick; the old wheel entry is recognised
+ * as stale when it fires because it no longer matches the recorded due tick.
+ *
+ * Only touched from the client thread.
+ */
+public final class LowHealthIndex {
+
+    private final Int2IntOpenHashMap positions = new Int2IntOpenHashMap();
+    private LivingEntity[] entities = new LivingEntity[16];
+    private long[] dueTicks = new long[16];
+    private int size;
+
+    private final DripWheel wheel = new DripWheel();
+    private LivingEntity[] due = new LivingEntity[16];
+
+    private float threshold = Float.NaN;
+    private float frequencyMultiplier = Float.NaN;
+
+    public LowHealthIndex() {
+        positions.defaultReturnValue(-1);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Whether the index was built for any settings. False until the first {@link #rebuild} and
+     * after {@link #clear()}.
+     */
+    public boolean isBuilt() {
+        return !Float.isNaN(threshold);
+    }
+
+    /**
+     * Whether the index was built for these settings. False after {@link #clear()}.
+     */
+    public boolean isBuiltFor(float threshold, float frequencyMultiplier) {
+        return this.threshold == threshold && this.frequencyMultiplier == frequencyMultiplier;
+    }
+
+    /**
+     * Re-check one entity after its health changed, and draw its next drip tick. Ignored while the
+     * index is not built; the next rebuild picks the entity up from the world.
+     */
+    public void update(LivingEntity entity, float health) {
+        if (!isBuilt()) return;
+
+        int chance = health > 0
+                ? ClientBloodParticleSpawner.lowHealthDripChance(health / entity.getMaxHealth(), threshold, frequencyMultiplier)
+                : 0;
+        if (chance == 0) {
+            remove(entity.getId());
+            return;
+        }
+
+        int index = add(entity);
+        long dueTick = wheel.now() + nextDripDelay(chance);
+        dueTicks[index] = dueTick;
+        wheel.schedule(entity.getId(), dueTick);
+    }
+
+    public void remove(int entityId) {
+        int index = positions.remove(entityId);
+        if (index < 0) return;
+
+        int last = --size;
+        if (index != last) {
+            LivingEntity moved = entities[last];
+            entities[index] = moved;
+            dueTicks[index] = dueTicks[last];
+            positions.put(moved.getId(), index);
+        }
+        entities[last] = null;
+    }
+
+    /**
+     * Advance the drip schedule by one tick.
+     *
+     * @return how many entities drip this tick; read them with {@link #due(int)}
+     */
+    public int advance() {
+        int fired = wheel.advance();
+
+        int count = 0;
+        for (int i = 0; i < fired; i++) {
+            int index = positions.get(wheel.dueEntity(i));
+            if (index < 0 || dueTicks[index] != wheel.dueTick(i)) continue;
+
+            if (count == due.length) {
+                due = Arrays.copyOf(due, count << 1);
+            }
+            due[count++] = entities[index];
+        }
+        return count;
+    }
+
+    public LivingEntity due(int index) {
+        return due[index];
+    }
+
+    /**
+     * Rebuild from every entity in the world, for new settings or a new world.
+     */
+    public void rebuild(ClientWorld world, float threshold, float frequencyMultiplier) {
+        clear();
+        this.threshold = threshold;
+        this.frequencyMultiplier = frequencyMultiplier;
+
+        for (Entity e : world.getEntities()) {
+            if (e instanceof LivingEntity entity) {
+                update(entity, entity.getHealth());
+            }
+        }
+    }
+
+    /**
+     * Empty the index. The settings are forgotten too, so the next drip pass rebuilds it.
+     */
+    public void clear() {
+        Arrays.fill(entities, 0, size, null);
+        Arrays.fill(due, null);
+        size = 0;
+        positions.clear();
+        wheel.clear();
+        threshold = Float.NaN;
+        frequencyMultiplier = Float.NaN;
+    }
+
+    private int add(LivingEntity entity) {
+        int id = entity.getId();
+        int index = positions.get(id);
+        if (index >= 0) {
+            // Entity ids are reused; keep the slot pointing at the live instance
+            entities[index] = entity;
+            return index;
+        }
+
+        if (size == entities.length) {
+            entities = Arrays.copyOf(entities, size << 1);
+            dueTicks = Arrays.copyOf(dueTicks, size << 1);
+        }
+        entities[size] = entity;
+        positions.put(id, size);
+        return size++;
+    }
+
+    /**
+     * Ticks until the first success of a one-in-{@code chance} roll made every tick.
+     */
+    private static long nextDripDelay(int chance) {
+        if (chance <= 1) {
+            return 1;
+        }
+
+        double u = ThreadLocalRandom.current().nextDouble();
+        return 1 + (long) (Math.log1p(-u) / Math.log1p(-1.0 / chance));
+    }
+}
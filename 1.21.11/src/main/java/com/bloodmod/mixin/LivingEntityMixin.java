@@ -1,76 +1,81 @@
 package com.bloodmod.mixin;
 
+import com.bloodmod.BloodDebugStats;
 import com.bloodmod.BloodMod;
 import com.bloodmod.BloodModClient;
-import com.bloodmod.ClientBloodBurstTask;
+import com.bloodmod.BloodProfile;
 import com.bloodmod.ClientBloodParticleSpawner;
+import com.bloodmod.CrowdAggregator;
+import com.bloodmod.EntityDamageTracker;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.world.ClientWorld;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.damage.DamageSource;
 import net.minecraft.entity.data.TrackedData;
 import net.minecraft.entity.player.PlayerEntity;
+import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
-import java.util.HashMap;
-import java.util.Map;
-
 @Mixin(LivingEntity.class)
 public class LivingEntityMixin {
 
-    @Unique
-    private static final Map<Integer, Long> lastDamageTime = new HashMap<>();
-
-    @Unique
-    private static final Map<Integer, Float> lastHealth = new HashMap<>();
+    @Shadow
+    @Final
+    private static TrackedData<Float> HEALTH;
 
     @Unique
     private static long getDamageCooldown() {
-        return BloodModClient.getConfig().damageCooldownMs();
+        return BloodModClient.getConfig().damageCooldownTicks();
     }
 
     @Inject(method = "onTrackedDataSet", at = @At("HEAD"))
     private void onTrackedDataSet(TrackedData<?> data, CallbackInfo ci) {
+        if (data != HEALTH) return;
+
         LivingEntity entity = (LivingEntity)(Object)this;
 
         if (!entity.getEntityWorld().isClient() || !(entity.getEntityWorld() instanceof ClientWorld clientWorld)) {
             return;
         }
+        BloodDebugStats.trackedDataProcessed();
 
         MinecraftClient client = MinecraftClient.getInstance();
         if (client.isPaused()) {
             return;
         }
 
+        EntityDamageTracker damageTracker = BloodModClient.getDamageTracker();
         int entityId = entity.getId();
         float currentHealth = entity.getHealth();
-        Float previous = lastHealth.get(entityId);
+        float previous = damageTracker.health(entityId);
+        var cfg = BloodModClient.getConfig();
+        if (cfg.globalEnabled() && cfg.lowHealthEnabled()) {
+            BloodModClient.getLowHealthIndex().update(entity, currentHealth);
+        }
 
-        if (previous == null || currentHealth >= previous) {
+        if (Float.isNaN(previous) || currentHealth >= previous) {
 
-            lastHealth.put(entityId, currentHealth);
+            damageTracker.putHealth(entityId, currentHealth);
             return;
         }
 
         float damage = previous - currentHealth;
 
-        long currentTime = System.currentTimeMillis();
-        Long lastTime = lastDamageTime.get(entityId);
+        long currentTime = BloodModClient.getClock().ticks();
+        long lastTime = damageTracker.lastDamageTime(entityId);
 
-        if (lastTime != null && (currentTime - lastTime) < getDamageCooldown()) {
-            lastHealth.put(entityId, currentHealth);
+        if (lastTime != EntityDamageTracker.NEVER && (currentTime - lastTime) < getDamageCooldown()) {
+            damageTracker.putHealth(entityId, currentHealth);
             return; 
 
         }
 
-        lastDamageTime.put(entityId, currentTime);
-        lastHealth.put(entityId, currentHealth);
-
-        var cfg = BloodModClient.getConfig();
+        damageTracker.recordDamage(entityId, currentHealth, currentTime);
 
         if (!cfg.globalEnabled() || !cfg.hitBurstEnabled()) return;
 
@@ -79,10 +84,10 @@ public class LivingEntityMixin {
             if (player.isCreative() || player.isSpectator()) return;
         }
 
-        if (BloodMod.shouldEntityBleed(entity)) {
+        if (BloodProfile.of(entity).bleeds) {
             BloodMod.LOGGER.debug("Spawning blood burst for entity {} (ID: {}) with damage {}",
                     entity.getType().getTranslationKey(), entityId, damage);
-            BloodModClient.addBurstTask(new ClientBloodBurstTask(clientWorld, entity, damage));
+            BloodModClient.addBurst(entity, damage);
         }
     }
 
@@ -108,12 +113,11 @@ public class LivingEntityMixin {
             if (player.isCreative() || player.isSpectator()) return;
         }
 
-        if (BloodMod.shouldEntityBleed(entity)) {
+        if (BloodProfile.of(entity).bleeds && !CrowdAggregator.absorb(entity)) {
             ClientBloodParticleSpawner.spawnBloodOnDeath(clientWorld, entity);
         }
 
-        int entityId = entity.getId();
-        lastHealth.remove(entityId);
-        lastDamageTime.remove(entityId);
+        BloodModClient.getDamageTracker().remove(entity.getId());
+        BloodModClient.getLowHealthIndex().remove(entity.getId());
     }
 }
\ No newline at end of file
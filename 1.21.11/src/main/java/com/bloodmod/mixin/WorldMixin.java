@@ -0,0 +1,31 @@
+package com.bloodmod.mixin;
+
+import com.bloodmod.particle.StainDecals;
+import com.bloodmod.particle.SupportIndex;
+import com.bloodmod.particle.WaterSectionIndex;
+import net.minecraft.block.BlockState;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+@Mixin(World.class)
+public class WorldMixin {
+
+    /**
+     * Keep the blood water bitmaps, resting support and stain light in step with block changes on
+     * the client world.
+     */
+    @Inject(method = "setBlockState(Lnet/minecraft/util/math/BlockPos;Lnet/minecraft/block/BlockState;II)Z", at = @At("RETURN"))
+    private void onSetBlockState(BlockPos pos, BlockState state, int flags, int maxUpdateDepth,
+                                 CallbackInfoReturnable<Boolean> cir) {
+        if (cir.getReturnValueZ() && (Object) this instanceof ClientWorld) {
+            WaterSectionIndex.onBlockChanged(pos, state);
+            SupportIndex.onBlockChanged(pos);
+            StainDecals.onBlockChanged(pos);
+        }
+    }
+}
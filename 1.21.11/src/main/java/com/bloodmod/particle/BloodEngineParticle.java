@@ -0,0 +1,74 @@
+package com.bloodmod.particle;
+
+import net.minecraft.client.particle.BillboardParticle;
+import net.minecraft.client.particle.BillboardParticleSubmittable;
+import net.minecraft.client.render.Camera;
+import net.minecraft.client.texture.Sprite;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.ColorHelper;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import org.joml.Quaternionf;
+
+/**
+ * The one particle the vanilla particle manager sees for all blood. It submits a camera-facing quad
+ * for every live blood particle to the translucent particle atlas. It only draws;
+ * {@link BloodParticleEngine} is ticked from the client tick and replaces the host if the particle
+ * manager stops ticking it. It dies once the engine is empty.
+ */
+public class BloodEngineParticle extends BillboardParticle {
+
+    private static final Box EVERYWHERE = new Box(
+            -3.0E7, -2048.0, -3.0E7, 3.0E7, 2048.0, 3.0E7);
+
+    BloodEngineParticle(ClientWorld world, Sprite sprite) {
+        super(world, 0.0, 0.0, 0.0, sprite);
+        this.collidesWithWorld = false;
+    }
+
+    @Override
+    public void tick() {
+        BloodParticleEngine.hostTicked();
+        if (BloodParticleEngine.size == 0) {
+            this.markDead();
+        }
+    }
+
+    @Override
+    public void render(BillboardParticleSubmittable submittable, Camera camera, float tickProgress) {
+        Quaternionf rotation = camera.getRotation();
+        Vec3d cameraPos = camera.getCameraPos();
+        RenderType renderType = getRenderType();
+
+        for (int i = 0; i < BloodParticleEngine.size; i++) {
+            float px = (float) (MathHelper.lerp(tickProgress, BloodParticleEngine.prevX[i], BloodParticleEngine.x[i]) - cameraPos.x);
+            float py = (float) (MathHelper.lerp(tickProgress, BloodParticleEngine.prevY[i], BloodParticleEngine.y[i]) - cameraPos.y);
+            float pz = (float) (MathHelper.lerp(tickProgress, BloodParticleEngine.prevZ[i], BloodParticleEngine.z[i]) - cameraPos.z);
+
+            Sprite particleSprite = BloodParticleEngine.sprite[i];
+            int color = ColorHelper.fromFloats(BloodParticleEngine.alpha[i],
+                    BloodParticleEngine.red[i], BloodParticleEngine.green[i], BloodParticleEngine.blue[i]);
+
+            submittable.render(renderType, px, py, pz,
+                    rotation.x, rotation.y, rotation.z, rotation.w,
+                    BloodParticleEngine.scale[i],
+                    particleSprite.getMinU(), particleSprite.getMaxU(),
+                    particleSprite.getMinV(), particleSprite.getMaxV(),
+                    color, BloodParticleEngine.light[i]);
+        }
+    }
+
+    /**
+     * Blood can be anywhere in view, so the host itself must never be frustum culled.
+     */
+    @Override
+    public Box getBoundingBox() {
+        return EVERYWHERE;
+    }
+
+    @Override
+    protected RenderType getRenderType() {
+        return RenderType.PARTICLE_ATLAS_TRANSLUCENT;
+    }
+}
@@ -1,99 +1,26 @@
 package com.bloodmod.particle;
 
 import com.bloodmod.BloodColor;
-import com.bloodmod.BloodModClient;
-import net.minecraft.client.particle.BillboardParticle;
 import net.minecraft.client.particle.Particle;
 import net.minecraft.client.particle.ParticleFactory;
 import net.minecraft.client.particle.SpriteProvider;
-import net.minecraft.client.texture.Sprite;
 import net.minecraft.client.world.ClientWorld;
 import net.minecraft.particle.SimpleParticleType;
-import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.random.Random;
 
-public class BloodStainParticle extends BillboardParticle {
+/**
+ * Blood stains. They are kept and drawn as ground decals by {@link StainDecals} rather than as
+ * separate {@code Particle} objects; the factory only hands each spawn over to it.
+ */
+public final class BloodStainParticle {
 
-    private static final ThreadLocal<BloodColor.Color> currentBloodColor =
-            ThreadLocal.withInitial(() -> new BloodColor.Color(0.55f, 0.03f, 0.03f));
+    private static int currentBloodColor = BloodColor.argb(0.55f, 0.03f, 0.03f);
 
-    public static void setCurrentBloodColor(BloodColor.Color color) {
-        currentBloodColor.set(color);
+    public static void setCurrentBloodColor(int argb) {
+        currentBloodColor = argb;
     }
 
-    private static final float MIN_SCALE = 0.2f;
-    private static final float MAX_SCALE = 0.4f;
-
-    private final float baseAlpha; 
-
-    private boolean isOnGroundStain = false; 
-
-    public BloodStainParticle(ClientWorld world, double x, double y, double z,
-                              double velX, double velY, double velZ,
-                              Sprite sprite,
-                              float red, float green, float blue) {
-        super(world, x, y, z, velX, velY, velZ, sprite);
-
-        int durationSeconds = BloodModClient.getConfig().stainDurationSeconds();
-        float particleSizeMult = BloodModClient.getConfig().particleSizeMultiplier();
-        float stainSizeMult = BloodModClient.getConfig().stainSizeMultiplier();
-
-        this.maxAge = durationSeconds * 20;
-
-        this.setColor(red, green, blue);
-
-        float baseScale = MIN_SCALE + world.random.nextFloat() * (MAX_SCALE - MIN_SCALE);
-        this.scale = baseScale * particleSizeMult * stainSizeMult;
-
-        this.baseAlpha = 0.35f + world.random.nextFloat() * 0.15f;
-        this.alpha = baseAlpha;
-
-        this.velocityX = 0;
-        this.velocityY = 0;
-        this.velocityZ = 0;
-    }
-
-    @Override
-    public void tick() {
-
-        super.tick();
-
-        if (this.age >= this.maxAge) {
-            this.markDead();
-            return;
-        }
-
-        if (!isOnGroundStain && this.onGround) {
-            isOnGroundStain = true;
-
-            this.velocityX = 0;
-            this.velocityY = 0;
-            this.velocityZ = 0;
-        }
-
-        if (isOnGroundStain && this.age % 10 == 0) {
-            BlockPos posBelow = BlockPos.ofFloored(x, y - 0.1, z);
-            if (world.getBlockState(posBelow).isAir()) {
-
-                isOnGroundStain = false;
-            }
-        }
-
-        if (isOnGroundStain) {
-            this.velocityX = 0;
-            this.velocityY = 0;
-            this.velocityZ = 0;
-        }
-
-        float lifeFraction = 1.0f - (float) age / maxAge;
-        if (lifeFraction < 0.4f) {
-            this.alpha = baseAlpha * (lifeFraction / 0.4f);
-        }
-    }
-
-    @Override
-    protected RenderType getRenderType() {
-        return RenderType.PARTICLE_ATLAS_TRANSLUCENT;
+    private BloodStainParticle() {
     }
 
     public static class Factory implements ParticleFactory<SimpleParticleType> {
@@ -108,10 +35,8 @@ public class BloodStainParticle extends BillboardParticle {
                                        double x, double y, double z,
                                        double velX, double velY, double velZ,
                                        Random random) {
-            BloodColor.Color color = currentBloodColor.get();
-            Sprite sprite = this.spriteProvider.getSprite(random);
-            return new BloodStainParticle(world, x, y, z, velX, velY, velZ, sprite,
-                    color.red, color.green, color.blue);
+            StainDecals.add(world, x, y, z, this.spriteProvider.getSprite(random), currentBloodColor);
+            return null;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,77 @@
+package com.bloodmod.particle;
+
+import net.minecraft.client.particle.BillboardParticle;
+import net.minecraft.client.particle.BillboardParticleSubmittable;
+import net.minecraft.client.render.Camera;
+import net.minecraft.client.texture.Sprite;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.Vec3d;
+
+/**
+ * The one particle the vanilla particle manager sees for all blood stains. It submits each
+ * section's cached ground-aligned quads to the translucent particle atlas, offset by the section's
+ * position relative to the camera. It only draws; {@link StainDecals} is ticked from the client
+ * tick and replaces the host if the particle manager stops ticking it. It dies once no stains are
+ * left.
+ */
+public class StainDecalParticle extends BillboardParticle {
+
+    private static final Box EVERYWHERE = new Box(
+            -3.0E7, -2048.0, -3.0E7, 3.0E7, 2048.0, 3.0E7);
+
+    StainDecalParticle(ClientWorld world, Sprite sprite) {
+        super(world, 0.0, 0.0, 0.0, sprite);
+        this.collidesWithWorld = false;
+    }
+
+    @Override
+    public void tick() {
+        StainDecals.hostTicked();
+        if (StainDecals.size() == 0) {
+            this.markDead();
+        }
+    }
+
+    @Override
+    public void render(BillboardParticleSubmittable submittable, Camera camera, float tickProgress) {
+        Vec3d cameraPos = camera.getCameraPos();
+        RenderType renderType = getRenderType();
+
+        for (StainDecals.Section section : StainDecals.sections()) {
+            float offsetX = (float) (section.originX - cameraPos.x);
+            float offsetY = (float) (section.originY - cameraPos.y);
+            float offsetZ = (float) (section.originZ - cameraPos.z);
+            float[] geometry = section.geometry;
+
+            for (int i = 0; i < section.size; i++) {
+                int g = i * StainDecals.STRIDE;
+                int alpha = (int) (StainDecals.alpha(section, i, tickProgress) * 255.0f);
+
+                submittable.render(renderType,
+                        geometry[g + StainDecals.CENTER] + offsetX,
+                        geometry[g + StainDecals.CENTER + 1] + offsetY,
+                        geometry[g + StainDecals.CENTER + 2] + offsetZ,
+                        geometry[g + StainDecals.ROTATION], geometry[g + StainDecals.ROTATION + 1],
+                        geometry[g + StainDecals.ROTATION + 2], geometry[g + StainDecals.ROTATION + 3],
+                        geometry[g + StainDecals.SIZE],
+                        geometry[g + StainDecals.UV], geometry[g + StainDecals.UV + 1],
+                        geometry[g + StainDecals.UV + 2], geometry[g + StainDecals.UV + 3],
+                        (alpha << 24) | section.color[i], section.light[i]);
+            }
+        }
+    }
+
+    /**
+     * Stains can be anywhere in view, so the host itself must never be frustum culled.
+     */
+    @Override
+    public Box getBoundingBox() {
+        return EVERYWHERE;
+    }
+
+    @Override
+    protected RenderType getRenderType() {
+        return RenderType.PARTICLE_ATLAS_TRANSLUCENT;
+    }
+}
@@ -0,0 +1,361 @@
+package com.bloodmod.particle;
+
+import com.bloodmod.BloodBudget;
+import com.bloodmod.BloodModConfig;
+import com.bloodmod.BloodRuntimeSettings;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.render.WorldRenderer;
+import net.minecraft.client.texture.Sprite;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.random.Random;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+
+import java.util.Arrays;
+
+/**
+ * Blood stains as flat decals lying on the ground, grouped by chunk section.
+ *
+ * A stain's quad geometry is worked out once when it is added and kept in its section's vertex
+ * data: position, ground-aligned orientation, corners and texture coordinates. Sections only
+ * change when a stain is added or expires, and each frame just copies the cached quads out,
+ * section by section, with the fade applied as they are emitted. Everything is drawn by a single
+ * {@link StainDecalParticle} host, while expiry and relighting run from the client tick; a host the
+ * particle manager stops ticking is replaced. Stains rest on their block column through {@link SupportIndex}
+ * and vanish when the block under them goes away. Light is cached per stain as well and sampled
+ * again for a whole section shortly after a block changes within light range of it, once the
+ * client light engine has caught up. Only touched from the client thread.
+ */
+public final class StainDecals {
+
+    private static final float MIN_SCALE = 0.2f;
+    private static final float MAX_SCALE = 0.4f;
+
+    /**
+     * Cached floats per stain: center (3), orientation quaternion (4), half size (1),
+     * corners (4 x 3) and sprite bounds (4). Positions are relative to the section origin.
+     */
+    static final int STRIDE = 24;
+    static final int CENTER = 0;
+    static final int ROTATION = 3;
+    static final int SIZE = 7;
+    static final int CORNERS = 8;
+    static final int UV = 20;
+
+    private static final float[][] CORNER_OFFSETS = {{1, -1}, {1, 1}, {-1, 1}, {-1, -1}};
+
+    /**
+     * Ticks to wait after a block change before sampling light again, so the light update has landed.
+     */
+    private static final int RELIGHT_DELAY_TICKS = 2;
+    private static final long NO_RELIGHT = Long.MAX_VALUE;
+
+    /**
+     * Ticks the host may go unticked before it counts as dropped and is replaced. A new host is
+     * first ticked two ticks after it is added.
+     */
+    private static final int HOST_STALE_TICKS = 4;
+
+    private static final Long2ObjectOpenHashMap<Section> sections = new Long2ObjectOpenHashMap<>();
+
+    private static ClientWorld world;
+    private static StainDecalParticle host;
+    private static Sprite hostSprite;
+    private static long hostTickedAt;
+    private static int count;
+    private static long tick;
+
+    private static final BlockPos.Mutable mutable = new BlockPos.Mutable();
+    private static final Vector3f corner = new Vector3f();
+    private static final Quaternionf rotation = new Quaternionf();
+
+    private StainDecals() {
+    }
+
+    public static void add(ClientWorld clientWorld, double x, double y, double z, Sprite sprite, int color) {
+        if (clientWorld != world) {
+            releaseAll();
+            clear();
+            world = clientWorld;
+        }
+
+        BloodRuntimeSettings settings = BloodModConfig.runtime();
+        Random random = clientWorld.random;
+
+        int sectionX = ChunkSectionPos.getSectionCoord(MathHelper.floor(x));
+        int sectionY = ChunkSectionPos.getSectionCoord(MathHelper.floor(y));
+        int sectionZ = ChunkSectionPos.getSectionCoord(MathHelper.floor(z));
+        long key = ChunkSectionPos.asLong(sectionX, sectionY, sectionZ);
+        Section section = sections.get(key);
+        if (section == null) {
+            section = new Section(sectionX << 4, sectionY << 4, sectionZ << 4);
+            sections.put(key, section);
+        }
+
+        float halfSize = (MIN_SCALE + random.nextFloat() * (MAX_SCALE - MIN_SCALE)) * settings.stainScaleMultiplier;
+        rotation.rotationY(random.nextFloat() * MathHelper.TAU).rotateX(-MathHelper.HALF_PI);
+
+        int i = section.append();
+        float[] geometry = section.geometry;
+        int g = i * STRIDE;
+        float cx = (float) (x - section.originX);
+        float cy = (float) (y - section.originY);
+        float cz = (float) (z - section.originZ);
+        geometry[g + CENTER] = cx;
+        geometry[g + CENTER + 1] = cy;
+        geometry[g + CENTER + 2] = cz;
+        geometry[g + ROTATION] = rotation.x;
+        geometry[g + ROTATION + 1] = rotation.y;
+        geometry[g + ROTATION + 2] = rotation.z;
+        geometry[g + ROTATION + 3] = rotation.w;
+        geometry[g + SIZE] = halfSize;
+        for (int c = 0; c < 4; c++) {
+            corner.set(CORNER_OFFSETS[c][0], CORNER_OFFSETS[c][1], 0.0f).rotate(rotation).mul(halfSize).add(cx, cy, cz);
+            geometry[g + CORNERS + c * 3] = corner.x;
+            geometry[g + CORNERS + c * 3 + 1] = corner.y;
+            geometry[g + CORNERS + c * 3 + 2] = corner.z;
+        }
+        geometry[g + UV] = sprite.getMinU();
+        geometry[g + UV + 1] = sprite.getMaxU();
+        geometry[g + UV + 2] = sprite.getMinV();
+        geometry[g + UV + 3] = sprite.getMaxV();
+
+        section.color[i] = color & 0xFFFFFF;
+        section.baseAlpha[i] = 0.35f + random.nextFloat() * 0.15f;
+        section.born[i] = tick;
+        section.maxAge[i] = settings.stainDurationTicks;
+        section.light[i] = sampleLight(section, i);
+        SupportIndex.Column column = SupportIndex.register(MathHelper.floor(x), MathHelper.floor(z));
+        section.support[i] = column;
+        section.supportVersion[i] = column.version;
+
+        BloodBudget.acquire(BloodBudget.Kind.STAIN);
+        count++;
+
+        hostSprite = sprite;
+        ensureHost();
+    }
+
+    /**
+     * Expire stains, drop those whose support went away and relight sections whose surroundings
+     * changed. Called from the client tick while the game is not paused.
+     */
+    public static void tick() {
+        tick++;
+        if (world == null) return;
+
+        ObjectIterator<Long2ObjectMap.Entry<Section>> it = sections.long2ObjectEntrySet().fastIterator();
+        while (it.hasNext()) {
+            Section section = it.next().getValue();
+
+            int i = 0;
+            while (i < section.size) {
+                if (tick - section.born[i] >= section.maxAge[i] || !stillSupported(section, i)) {
+                    section.remove(i);
+                    BloodBudget.release(BloodBudget.Kind.STAIN);
+                    count--;
+                } else {
+                    i++;
+                }
+            }
+
+            if (section.size == 0) {
+                it.remove();
+            } else if (tick >= section.relightAt) {
+                section.relightAt = NO_RELIGHT;
+                for (int j = 0; j < section.size; j++) {
+                    section.light[j] = sampleLight(section, j);
+                }
+            }
+        }
+
+        if (count > 0) {
+            ensureHost();
+        }
+    }
+
+    /**
+     * Called by the host on each of its ticks, to show the particle manager still holds it.
+     */
+    static void hostTicked() {
+        hostTickedAt = tick;
+    }
+
+    /**
+     * Schedule a light refresh for the stain sections within light range of a changed block.
+     */
+    public static void onBlockChanged(BlockPos pos) {
+        if (sections.isEmpty()) return;
+
+        int sectionX = ChunkSectionPos.getSectionCoord(pos.getX());
+        int sectionY = ChunkSectionPos.getSectionCoord(pos.getY());
+        int sectionZ = ChunkSectionPos.getSectionCoord(pos.getZ());
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dy = -1; dy <= 1; dy++) {
+                for (int dz = -1; dz <= 1; dz++) {
+                    Section section = sections.get(ChunkSectionPos.asLong(sectionX + dx, sectionY + dy, sectionZ + dz));
+                    if (section != null && section.relightAt == NO_RELIGHT) {
+                        section.relightAt = tick + RELIGHT_DELAY_TICKS;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Opacity of a stain right now, fading out over the last 40% of its life.
+     */
+    static float alpha(Section section, int i, float tickDelta) {
+        float age = tick - section.born[i] + tickDelta;
+        float lifeFraction = 1.0f - age / section.maxAge[i];
+        float baseAlpha = section.baseAlpha[i];
+        return lifeFraction < 0.4f ? baseAlpha * Math.max(lifeFraction, 0.0f) / 0.4f : baseAlpha;
+    }
+
+    static Iterable<Section> sections() {
+        return sections.values();
+    }
+
+    public static int size() {
+        return count;
+    }
+
+    public static int sectionCount() {
+        return sections.size();
+    }
+
+    /**
+     * Drop every stain without touching the budget. Called on world change, together with
+     * {@link BloodBudget#reset()}.
+     */
+    public static void clear() {
+        sections.clear();
+        count = 0;
+        world = null;
+        host = null;
+        hostSprite = null;
+    }
+
+    /**
+     * Give back the budget and support of every stain, for when the world changes under the
+     * decals without {@link BloodBudget#reset()}.
+     */
+    private static void releaseAll() {
+        for (Section section : sections.values()) {
+            for (int i = 0; i < section.size; i++) {
+                BloodBudget.release(BloodBudget.Kind.STAIN);
+                if (section.support[i] != null) {
+                    SupportIndex.unregister(section.support[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Add a host if there is none, it died, or the particle manager stopped ticking it.
+     */
+    private static void ensureHost() {
+        if (host != null && host.isAlive() && tick - hostTickedAt <= HOST_STALE_TICKS) {
+            return;
+        }
+
+        if (host != null) {
+            host.markDead();
+        }
+        host = new StainDecalParticle(world, hostSprite);
+        hostTickedAt = tick;
+        MinecraftClient.getInstance().particleManager.addParticle(host);
+    }
+
+    private static int sampleLight(Section section, int i) {
+        int g = i * STRIDE;
+        mutable.set(section.originX + section.geometry[g + CENTER],
+                section.originY + section.geometry[g + CENTER + 1],
+                section.originZ + section.geometry[g + CENTER + 2]);
+        return world.isChunkLoaded(mutable) ? WorldRenderer.getLightmapCoordinates(world, mutable) : 0;
+    }
+
+    private static boolean stillSupported(Section section, int i) {
+        SupportIndex.Column column = section.support[i];
+        if (column.version == section.supportVersion[i]) {
+            return true;
+        }
+
+        int g = i * STRIDE;
+        double x = section.originX + section.geometry[g + CENTER];
+        double y = section.originY + section.geometry[g + CENTER + 1];
+        double z = section.originZ + section.geometry[g + CENTER + 2];
+
+        SupportIndex.unregister(column);
+        section.support[i] = null;
+        if (world.getBlockState(mutable.set(x, y - 0.1, z)).isAir()) {
+            return false;
+        }
+
+        column = SupportIndex.register(MathHelper.floor(x), MathHelper.floor(z));
+        section.support[i] = column;
+        section.supportVersion[i] = column.version;
+        return true;
+    }
+
+    static final class Section {
+        final int originX, originY, originZ;
+        int size;
+        long relightAt = NO_RELIGHT;
+
+        float[] geometry = new float[8 * STRIDE];
+        int[] color = new int[8];
+        float[] baseAlpha = new float[8];
+        long[] born = new long[8];
+        int[] maxAge = new int[8];
+        int[] light = new int[8];
+        SupportIndex.Column[] support = new SupportIndex.Column[8];
+        int[] supportVersion = new int[8];
+
+        Section(int originX, int originY, int originZ) {
+            this.originX = originX;
+            this.originY = originY;
+            this.originZ = originZ;
+        }
+
+        int append() {
+            if (size == color.length) {
+                int capacity = size << 1;
+                geometry = Arrays.copyOf(geometry, capacity * STRIDE);
+                color = Arrays.copyOf(color, capacity);
+                baseAlpha = Arrays.copyOf(baseAlpha, capacity);
+                born = Arrays.copyOf(born, capacity);
+                maxAge = Arrays.copyOf(maxAge, capacity);
+                light = Arrays.copyOf(light, capacity);
+                support = Arrays.copyOf(support, capacity);
+                supportVersion = Arrays.copyOf(supportVersion, capacity);
+            }
+            return size++;
+        }
+
+        void remove(int i) {
+            if (support[i] != null) {
+                SupportIndex.unregister(support[i]);
+            }
+
+            int last = --size;
+            if (i != last) {
+                System.arraycopy(geometry, last * STRIDE, geometry, i * STRIDE, STRIDE);
+                color[i] = color[last];
+                baseAlpha[i] = baseAlpha[last];
+                born[i] = born[last];
+                maxAge[i] = maxAge[last];
+                light[i] = light[last];
+                support[i] = support[last];
+                supportVersion[i] = supportVersion[last];
+            }
+            support[last] = null;
+        }
+    }
+}
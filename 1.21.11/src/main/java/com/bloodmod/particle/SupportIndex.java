@@ -0,0 +1,88 @@
+package com.bloodmod.particle;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+
+/**
+ * Version stamps for the block columns that resting blood lies on.
+ *
+ * A drop or stain that comes to rest registers with its column and remembers the column's
+ * version. Any block change in that column bumps the version; until then the particle skips
+ * collision and support checks entirely. Columns are reference counted and forgotten once nothing
+ * rests on them. Only touched from the client thread.
+ */
+public final class SupportIndex {
+
+    private static final Long2ObjectOpenHashMap<Column> columns = new Long2ObjectOpenHashMap<>();
+
+    private SupportIndex() {
+    }
+
+    /**
+     * Start resting on the column at {@code x, z}. Read {@link Column#version} right after.
+     */
+    static Column register(int x, int z) {
+        long key = ChunkPos.toLong(x, z);
+        Column column = columns.get(key);
+        if (column == null) {
+            column = new Column(key);
+            columns.put(key, column);
+        }
+        column.refs++;
+        return column;
+    }
+
+    static void unregister(Column column) {
+        if (--column.refs <= 0) {
+            columns.remove(column.key, column);
+        }
+    }
+
+    public static void onBlockChanged(BlockPos pos) {
+        Column column = columns.get(ChunkPos.toLong(pos.getX(), pos.getZ()));
+        if (column != null) {
+            column.version++;
+        }
+    }
+
+    /**
+     * Invalidate every column of a chunk that was loaded again or unloaded. Particles resting there
+     * see the bumped version and register again with a fresh column.
+     */
+    public static void onChunkChanged(int chunkX, int chunkZ) {
+        ObjectIterator<Long2ObjectMap.Entry<Column>> it = columns.long2ObjectEntrySet().fastIterator();
+        while (it.hasNext()) {
+            Long2ObjectMap.Entry<Column> entry = it.next();
+            long key = entry.getLongKey();
+            if (ChunkPos.getPackedX(key) >> 4 == chunkX && ChunkPos.getPackedZ(key) >> 4 == chunkZ) {
+                entry.getValue().version++;
+                it.remove();
+            }
+        }
+    }
+
+    public static int size() {
+        return columns.size();
+    }
+
+    public static void clear() {
+        ObjectIterator<Column> it = columns.values().iterator();
+        while (it.hasNext()) {
+            it.next().version++;
+        }
+        columns.clear();
+    }
+
+    static final class Column {
+        final long key;
+        int version;
+        int refs;
+
+        Column(long key) {
+            this.key = key;
+        }
+    }
+}